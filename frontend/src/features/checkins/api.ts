@@ -40,11 +40,12 @@ export function getCheckinsByDate(date: string) {
   })
 }
 
-export function submitHourlyCheckin(payload: SubmitHourlyCheckinPayload) {
+export function submitHourlyCheckin(payload: SubmitHourlyCheckinPayload, idempotencyKey?: string) {
   return request<HourlyCheckinResponse>({
     url: '/checkins/hourly',
     method: 'POST',
     data: payload,
+    headers: idempotencyKey ? { 'Idempotency-Key': idempotencyKey } : undefined,
   })
 }
 
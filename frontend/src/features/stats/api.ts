@@ -1,5 +1,12 @@
 import { request } from '@/shared/api/client'
-import type { CompletionSummaryResponse, HourlyCheckinResponse, PageResponse, SummaryPeriod } from '@/shared/api/types'
+import type {
+  CompletionSeriesResponse,
+  CompletionSummaryResponse,
+  HourlyCheckinResponse,
+  PageResponse,
+  SeriesBucket,
+  SummaryPeriod,
+} from '@/shared/api/types'
 
 export function getCompletionSummary(period: SummaryPeriod, referenceDate?: string) {
   return request<CompletionSummaryResponse>({
@@ -12,7 +19,19 @@ export function getCompletionSummary(period: SummaryPeriod, referenceDate?: stri
   })
 }
 
-export function getReviewPage(page = 1, size = 10, date?: string) {
+export function getCompletionSeries(bucket: SeriesBucket, from: string, to: string) {
+  return request<CompletionSeriesResponse>({
+    url: '/stats/series',
+    method: 'GET',
+    params: {
+      bucket,
+      from,
+      to,
+    },
+  })
+}
+
+export function getReviewPage(page = 1, size = 10, date?: string, cursor?: string) {
   return request<PageResponse<HourlyCheckinResponse>>({
     url: '/stats/reviews',
     method: 'GET',
@@ -20,6 +39,7 @@ export function getReviewPage(page = 1, size = 10, date?: string) {
       page,
       size,
       date,
+      cursor,
     },
   })
 }
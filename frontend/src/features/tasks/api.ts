@@ -1,5 +1,5 @@
 import { request } from '@/shared/api/client'
-import type { TaskInstanceResponse, TaskStatus } from '@/shared/api/types'
+import type { PlanGenerationResponse, TaskInstanceResponse, TaskStatus } from '@/shared/api/types'
 
 interface CreateManualTaskPayload {
   title: string
@@ -26,16 +26,17 @@ export function getTasksByDate(date: string) {
   })
 }
 
-export function createManualTask(payload: CreateManualTaskPayload) {
+export function createManualTask(payload: CreateManualTaskPayload, idempotencyKey?: string) {
   return request<TaskInstanceResponse>({
     url: '/tasks/manual',
     method: 'POST',
     data: payload,
+    headers: idempotencyKey ? { 'Idempotency-Key': idempotencyKey } : undefined,
   })
 }
 
 export function generatePlanForDate(date: string) {
-  return request<number>({
+  return request<PlanGenerationResponse>({
     url: '/plans/generate',
     method: 'POST',
     params: { date },
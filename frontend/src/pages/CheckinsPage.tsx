@@ -8,7 +8,7 @@ import {
   submitHourlyCheckin,
   updateHourlyCheckin,
 } from '@/features/checkins/api'
-import { ApiError } from '@/shared/api/client'
+import { ApiError, retryOnNetworkError } from '@/shared/api/client'
 import { toDateInputValue, toDateTimeLocalValue, todayDate, toLocalDateTimeInput } from '@/shared/lib/date'
 
 function parseNumberInput(rawValue: string) {
@@ -62,7 +62,9 @@ export function CheckinsPage() {
   })
 
   const submitMutation = useMutation({
-    mutationFn: submitHourlyCheckin,
+    mutationFn: ({ payload, idempotencyKey }: { payload: Parameters<typeof submitHourlyCheckin>[0]; idempotencyKey: string }) =>
+      submitHourlyCheckin(payload, idempotencyKey),
+    retry: retryOnNetworkError,
     onSuccess: () => {
       setOverallComment('')
       setMinutesByTaskId({})
@@ -344,10 +346,13 @@ export function CheckinsPage() {
                 }
                 setFormError(null)
                 submitMutation.mutate({
-                  windowStart: pendingQuery.data.windowStart,
-                  windowEnd: pendingQuery.data.windowEnd,
-                  overallComment: overallComment || undefined,
-                  records: payloadRecords,
+                  payload: {
+                    windowStart: pendingQuery.data.windowStart,
+                    windowEnd: pendingQuery.data.windowEnd,
+                    overallComment: overallComment || undefined,
+                    records: payloadRecords,
+                  },
+                  idempotencyKey: crypto.randomUUID(),
                 })
               }}
               type="button"
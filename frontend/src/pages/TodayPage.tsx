@@ -1,6 +1,6 @@
 import { useMemo, useState } from 'react'
 import { useMutation, useQuery, useQueryClient } from '@tanstack/react-query'
-import { ApiError } from '@/shared/api/client'
+import { ApiError, retryOnNetworkError } from '@/shared/api/client'
 import { createManualTask, deleteTask, generatePlanForDate, getTasksByDate, setTaskStatus, updateTask } from '@/features/tasks/api'
 import { todayDate } from '@/shared/lib/date'
 import type { TaskInstanceResponse, TaskStatus } from '@/shared/api/types'
@@ -46,7 +46,9 @@ export function TodayPage() {
   })
 
   const createMutation = useMutation({
-    mutationFn: createManualTask,
+    mutationFn: ({ payload, idempotencyKey }: { payload: Parameters<typeof createManualTask>[0]; idempotencyKey: string }) =>
+      createManualTask(payload, idempotencyKey),
+    retry: retryOnNetworkError,
     onSuccess: () => {
       setTitle('')
       setDescription('')
@@ -306,11 +308,14 @@ export function TodayPage() {
             event.preventDefault()
             setErrorMessage(null)
             createMutation.mutate({
-              title,
-              description: description || undefined,
-              planDate: date,
-              plannedStartTime: plannedStartTime || undefined,
-              plannedMinutes,
+              payload: {
+                title,
+                description: description || undefined,
+                planDate: date,
+                plannedStartTime: plannedStartTime || undefined,
+                plannedMinutes,
+              },
+              idempotencyKey: crypto.randomUUID(),
             })
           }}
         >
@@ -37,6 +37,11 @@ export async function request<T>(config: AxiosRequestConfig): Promise<T> {
   }
 }
 
+// Writes sent with an Idempotency-Key can be resent safely when no response arrived.
+export function retryOnNetworkError(failureCount: number, error: unknown) {
+  return failureCount < 2 && error instanceof ApiError && error.status === undefined
+}
+
 function parseApiError(error: unknown): ApiError {
   if (error instanceof ApiError) {
     return error
@@ -10,6 +10,7 @@ export interface PageResponse<T> {
   size: number
   total: number
   totalPages: number
+  nextCursor: string | null
 }
 
 export interface UserProfile {
@@ -35,6 +36,8 @@ export type TaskStatus = 'PENDING' | 'IN_PROGRESS' | 'COMPLETED' | 'CANCELLED'
 
 export type SummaryPeriod = 'WEEK' | 'MONTH' | 'YEAR'
 
+export type SeriesBucket = 'DAY' | 'WEEK' | 'MONTH'
+
 export interface TaskInstanceResponse {
   id: number
   templateId: number | null
@@ -104,6 +107,12 @@ export interface PendingWindowCheckinResponse {
   plannedTasks: TaskInstanceResponse[]
 }
 
+export interface PlanGenerationResponse {
+  date: string
+  generated: number
+  skipped: number
+}
+
 export interface HolidayDayResponse {
   holidayDate: string
   holiday: boolean
@@ -123,3 +132,22 @@ export interface CompletionSummaryResponse {
   taskCompletionRate: number
   minuteCompletionRate: number
 }
+
+export interface CompletionSeriesPoint {
+  startDate: string
+  endDate: string
+  totalTasks: number
+  completedTasks: number
+  adHocTasks: number
+  plannedMinutes: number
+  completedMinutes: number
+  taskCompletionRate: number
+  minuteCompletionRate: number
+}
+
+export interface CompletionSeriesResponse {
+  bucket: SeriesBucket
+  startDate: string
+  endDate: string
+  points: CompletionSeriesPoint[]
+}
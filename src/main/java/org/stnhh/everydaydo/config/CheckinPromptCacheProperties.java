@@ -0,0 +1,12 @@
+package org.stnhh.everydaydo.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "app.checkin-prompt-cache")
+public record CheckinPromptCacheProperties(
+        @DefaultValue("10000") long maximumSize,
+        @DefaultValue("30s") Duration expireAfterWrite
+) {
+}
@@ -0,0 +1,11 @@
+package org.stnhh.everydaydo.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "app.holiday-calendar-cache")
+public record HolidayCalendarCacheProperties(
+        @DefaultValue("1m") Duration expireAfterWrite
+) {
+}
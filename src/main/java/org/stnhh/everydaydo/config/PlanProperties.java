@@ -0,0 +1,16 @@
+package org.stnhh.everydaydo.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "app.plan")
+public record PlanProperties(
+        @DefaultValue("4") int generationThreads,
+        @DefaultValue("false") boolean lazyMaterialization,
+        @DefaultValue("16") int shardCount,
+        @DefaultValue("10m") Duration leaseDuration,
+        String nodeId,
+        @DefaultValue("7") int backfillDays
+) {
+}
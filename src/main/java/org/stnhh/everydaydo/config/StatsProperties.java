@@ -0,0 +1,10 @@
+package org.stnhh.everydaydo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "app.stats")
+public record StatsProperties(
+        @DefaultValue("35") int repairWindowDays
+) {
+}
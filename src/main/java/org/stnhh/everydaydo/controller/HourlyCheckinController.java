@@ -12,9 +12,13 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.stnhh.everydaydo.model.dto.checkin.BatchCheckinSyncResponse;
+import org.stnhh.everydaydo.model.dto.checkin.BatchSubmitHourlyCheckinRequest;
 import org.stnhh.everydaydo.model.dto.checkin.HourlyCheckinResponse;
 import org.stnhh.everydaydo.model.dto.checkin.PendingWindowCheckinResponse;
 import org.stnhh.everydaydo.model.dto.checkin.SubmitHourlyCheckinRequest;
@@ -22,7 +26,9 @@ import org.stnhh.everydaydo.model.dto.checkin.UpdateHourlyCheckinRequest;
 import org.stnhh.everydaydo.model.dto.common.ApiResponse;
 import org.stnhh.everydaydo.model.dto.task.TaskInstanceResponse;
 import org.stnhh.everydaydo.security.SecurityUtils;
+import org.stnhh.everydaydo.service.DayVersionService;
 import org.stnhh.everydaydo.service.HourlyCheckinService;
+import org.stnhh.everydaydo.service.IdempotencyService;
 
 @RestController
 @RequestMapping("/api/checkins/hourly")
@@ -30,11 +36,27 @@ import org.stnhh.everydaydo.service.HourlyCheckinService;
 public class HourlyCheckinController {
 
     private final HourlyCheckinService hourlyCheckinService;
+    private final DayVersionService dayVersionService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping
-    public ApiResponse<HourlyCheckinResponse> submit(@Valid @RequestBody SubmitHourlyCheckinRequest request) {
+    public ApiResponse<HourlyCheckinResponse> submit(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @Valid @RequestBody SubmitHourlyCheckinRequest request
+    ) {
+        Long userId = SecurityUtils.currentUser().id();
+        return ApiResponse.ok(idempotencyService.execute(userId, idempotencyKey, "checkins.hourly.submit", request,
+                HourlyCheckinResponse.class, () -> hourlyCheckinService.submit(userId, request)));
+    }
+
+    @PostMapping("/batch")
+    public ApiResponse<BatchCheckinSyncResponse> submitBatch(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @Valid @RequestBody BatchSubmitHourlyCheckinRequest request
+    ) {
         Long userId = SecurityUtils.currentUser().id();
-        return ApiResponse.ok(hourlyCheckinService.submit(userId, request));
+        return ApiResponse.ok(idempotencyService.execute(userId, idempotencyKey, "checkins.hourly.batch", request,
+                BatchCheckinSyncResponse.class, () -> hourlyCheckinService.submitBatch(userId, request.checkins())));
     }
 
     @PutMapping("/{checkinId}")
@@ -55,9 +77,13 @@ public class HourlyCheckinController {
 
     @GetMapping
     public ApiResponse<List<HourlyCheckinResponse>> listByDate(
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            WebRequest webRequest
     ) {
         Long userId = SecurityUtils.currentUser().id();
+        if (webRequest.checkNotModified(dayVersionService.checkinListETag(userId, date))) {
+            return null;
+        }
         return ApiResponse.ok(hourlyCheckinService.listByDate(userId, date));
     }
 
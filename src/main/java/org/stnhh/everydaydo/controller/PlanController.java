@@ -3,11 +3,18 @@ package org.stnhh.everydaydo.controller;
 import java.time.LocalDate;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.stnhh.everydaydo.model.dto.common.ApiResponse;
+import org.stnhh.everydaydo.model.dto.plan.PlanBackfillResponse;
+import org.stnhh.everydaydo.model.dto.plan.PlanGenerationJobResponse;
+import org.stnhh.everydaydo.model.dto.plan.PlanGenerationResponse;
+import org.stnhh.everydaydo.model.dto.plan.PlanRangeGenerationResponse;
+import org.stnhh.everydaydo.service.PlanBackfillService;
 import org.stnhh.everydaydo.service.PlanGenerationService;
 
 @RestController
@@ -16,11 +23,38 @@ import org.stnhh.everydaydo.service.PlanGenerationService;
 public class PlanController {
 
     private final PlanGenerationService planGenerationService;
+    private final PlanBackfillService planBackfillService;
 
     @PostMapping("/generate")
-    public ApiResponse<Integer> generate(
+    public ApiResponse<PlanGenerationResponse> generate(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
     ) {
         return ApiResponse.ok(planGenerationService.generateForDate(date));
     }
+
+    @PostMapping("/generate-range")
+    public ApiResponse<PlanRangeGenerationResponse> generateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ApiResponse.ok(planGenerationService.generateForRange(from, to));
+    }
+
+    @PostMapping("/jobs")
+    public ApiResponse<PlanGenerationJobResponse> submitJob(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ApiResponse.ok(planGenerationService.submitJob(from, to));
+    }
+
+    @GetMapping("/jobs/{id}")
+    public ApiResponse<PlanGenerationJobResponse> job(@PathVariable Long id) {
+        return ApiResponse.ok(planGenerationService.getJob(id));
+    }
+
+    @GetMapping("/backfill")
+    public ApiResponse<PlanBackfillResponse> backfill() {
+        return ApiResponse.ok(planBackfillService.progress());
+    }
 }
@@ -10,7 +10,9 @@ import org.springframework.web.bind.annotation.RestController;
 import org.stnhh.everydaydo.model.dto.checkin.HourlyCheckinResponse;
 import org.stnhh.everydaydo.model.dto.common.ApiResponse;
 import org.stnhh.everydaydo.model.dto.common.PageResponse;
+import org.stnhh.everydaydo.model.dto.stats.CompletionSeriesResponse;
 import org.stnhh.everydaydo.model.dto.stats.CompletionSummaryResponse;
+import org.stnhh.everydaydo.model.enums.SeriesBucket;
 import org.stnhh.everydaydo.model.enums.SummaryPeriod;
 import org.stnhh.everydaydo.security.SecurityUtils;
 import org.stnhh.everydaydo.service.StatsService;
@@ -32,13 +34,24 @@ public class StatsController {
         return ApiResponse.ok(statsService.completionSummary(userId, period, date));
     }
 
+    @GetMapping("/series")
+    public ApiResponse<CompletionSeriesResponse> series(
+            @RequestParam SeriesBucket bucket,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        Long userId = SecurityUtils.currentUser().id();
+        return ApiResponse.ok(statsService.completionSeries(userId, bucket, from, to));
+    }
+
     @GetMapping("/reviews")
     public ApiResponse<PageResponse<HourlyCheckinResponse>> reviews(
             @RequestParam(defaultValue = "1") Integer page,
             @RequestParam(defaultValue = "10") Integer size,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) String cursor
     ) {
         Long userId = SecurityUtils.currentUser().id();
-        return ApiResponse.ok(statsService.reviewPage(userId, page, size, date));
+        return ApiResponse.ok(statsService.reviewPage(userId, page, size, date, cursor));
     }
 }
@@ -12,15 +12,24 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.stnhh.everydaydo.model.dto.common.ApiResponse;
+import org.stnhh.everydaydo.model.dto.common.CursorPageResponse;
+import org.stnhh.everydaydo.model.dto.task.BatchCreateTasksRequest;
+import org.stnhh.everydaydo.model.dto.task.BatchDeleteTasksRequest;
+import org.stnhh.everydaydo.model.dto.task.BatchRescheduleTasksRequest;
+import org.stnhh.everydaydo.model.dto.task.BatchTaskStatusRequest;
 import org.stnhh.everydaydo.model.dto.task.CreateManualTaskRequest;
 import org.stnhh.everydaydo.model.dto.task.TaskInstanceResponse;
 import org.stnhh.everydaydo.model.dto.task.UpdateTaskRequest;
 import org.stnhh.everydaydo.model.enums.TaskStatus;
 import org.stnhh.everydaydo.security.SecurityUtils;
+import org.stnhh.everydaydo.service.DayVersionService;
+import org.stnhh.everydaydo.service.IdempotencyService;
 import org.stnhh.everydaydo.service.TaskInstanceService;
 
 @RestController
@@ -29,19 +38,44 @@ import org.stnhh.everydaydo.service.TaskInstanceService;
 public class TaskInstanceController {
 
     private final TaskInstanceService taskInstanceService;
+    private final DayVersionService dayVersionService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping("/manual")
-    public ApiResponse<TaskInstanceResponse> createManual(@Valid @RequestBody CreateManualTaskRequest request) {
+    public ApiResponse<TaskInstanceResponse> createManual(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @Valid @RequestBody CreateManualTaskRequest request
+    ) {
         Long userId = SecurityUtils.currentUser().id();
-        return ApiResponse.ok(taskInstanceService.createManual(userId, request));
+        return ApiResponse.ok(idempotencyService.execute(userId, idempotencyKey, "tasks.manual", request,
+                TaskInstanceResponse.class, () -> taskInstanceService.createManual(userId, request)));
     }
 
     @GetMapping
     public ApiResponse<List<TaskInstanceResponse>> listByDate(
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            WebRequest webRequest
+    ) {
+        Long userId = SecurityUtils.currentUser().id();
+        // Before the ETag, so a past day's first read is tagged with the version that includes its materialized rows.
+        taskInstanceService.materializeDueOccurrences(userId, date, date);
+        String dayVersion = dayVersionService.taskListETag(userId, date);
+        if (webRequest.checkNotModified(dayVersion)) {
+            return null;
+        }
+        return ApiResponse.ok(taskInstanceService.listByDate(userId, date, dayVersion));
+    }
+
+    @GetMapping("/range")
+    public ApiResponse<CursorPageResponse<TaskInstanceResponse>> listByRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeDescription
     ) {
         Long userId = SecurityUtils.currentUser().id();
-        return ApiResponse.ok(taskInstanceService.listByDate(userId, date));
+        return ApiResponse.ok(taskInstanceService.listByRange(userId, from, to, cursor, size, includeDescription));
     }
 
     @PutMapping("/{taskId}")
@@ -68,4 +102,28 @@ public class TaskInstanceController {
         taskInstanceService.delete(userId, taskId);
         return ApiResponse.ok(true);
     }
+
+    @PostMapping("/batch")
+    public ApiResponse<List<TaskInstanceResponse>> createBatch(@Valid @RequestBody BatchCreateTasksRequest request) {
+        Long userId = SecurityUtils.currentUser().id();
+        return ApiResponse.ok(taskInstanceService.createManualBatch(userId, request.tasks()));
+    }
+
+    @PatchMapping("/batch/status")
+    public ApiResponse<List<TaskInstanceResponse>> setStatusBatch(@Valid @RequestBody BatchTaskStatusRequest request) {
+        Long userId = SecurityUtils.currentUser().id();
+        return ApiResponse.ok(taskInstanceService.setStatusBatch(userId, request.taskIds(), request.status()));
+    }
+
+    @PatchMapping("/batch/reschedule")
+    public ApiResponse<List<TaskInstanceResponse>> rescheduleBatch(@Valid @RequestBody BatchRescheduleTasksRequest request) {
+        Long userId = SecurityUtils.currentUser().id();
+        return ApiResponse.ok(taskInstanceService.rescheduleBatch(userId, request.taskIds(), request.planDate()));
+    }
+
+    @PostMapping("/batch/delete")
+    public ApiResponse<Integer> deleteBatch(@Valid @RequestBody BatchDeleteTasksRequest request) {
+        Long userId = SecurityUtils.currentUser().id();
+        return ApiResponse.ok(taskInstanceService.deleteBatch(userId, request.taskIds()));
+    }
 }
@@ -1,7 +1,46 @@
 package org.stnhh.everydaydo.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
 import org.stnhh.everydaydo.model.entity.CompletionLogEntity;
 
 public interface CompletionLogMapper extends BaseMapper<CompletionLogEntity> {
+
+    @Insert("""
+            <script>
+            INSERT INTO completion_log (checkin_id, user_id, task_instance_id, added_minutes, comment,
+                reference_link, created_at)
+            VALUES
+            <foreach collection="list" item="item" separator=",">
+                (#{item.checkinId}, #{item.userId}, #{item.taskInstanceId}, #{item.addedMinutes},
+                #{item.comment,jdbcType=VARCHAR}, #{item.referenceLink,jdbcType=VARCHAR}, #{item.createdAt})
+            </foreach>
+            </script>
+            """)
+    @Options(useGeneratedKeys = true, keyProperty = "id", keyColumn = "id")
+    int insertAll(@Param("list") List<CompletionLogEntity> list);
+
+    @Select("""
+            <script>
+            SELECT id, checkin_id, user_id, task_instance_id, added_minutes, comment, reference_link, created_at
+            FROM completion_log
+            WHERE user_id = #{userId}
+            <if test="from != null">AND created_at >= #{from}</if>
+            <if test="toExclusive != null">AND created_at &lt; #{toExclusive}</if>
+            ORDER BY created_at, id
+            </script>
+            """)
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = 500)
+    Cursor<CompletionLogEntity> streamForExport(
+            @Param("userId") Long userId,
+            @Param("from") LocalDateTime from,
+            @Param("toExclusive") LocalDateTime toExclusive
+    );
 }
@@ -0,0 +1,54 @@
+package org.stnhh.everydaydo.mapper;
+
+import java.time.LocalDateTime;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+import org.stnhh.everydaydo.model.entity.IdempotencyRecordEntity;
+
+public interface IdempotencyRecordMapper {
+
+    @Select("""
+            SELECT * FROM idempotency_record
+            WHERE user_id = #{userId} AND idempotency_key = #{key} AND expires_at > #{now}
+            """)
+    IdempotencyRecordEntity findLive(
+            @Param("userId") Long userId,
+            @Param("key") String key,
+            @Param("now") LocalDateTime now
+    );
+
+    @Insert("""
+            INSERT INTO idempotency_record (user_id, idempotency_key, request_hash, created_at, expires_at)
+            VALUES (#{userId}, #{key}, #{requestHash}, #{now}, #{expiresAt})
+            ON CONFLICT (user_id, idempotency_key) DO UPDATE
+                SET request_hash = EXCLUDED.request_hash,
+                    response_body = NULL,
+                    created_at = EXCLUDED.created_at,
+                    expires_at = EXCLUDED.expires_at
+                WHERE idempotency_record.expires_at <= EXCLUDED.created_at
+            """)
+    int claim(
+            @Param("userId") Long userId,
+            @Param("key") String key,
+            @Param("requestHash") String requestHash,
+            @Param("now") LocalDateTime now,
+            @Param("expiresAt") LocalDateTime expiresAt
+    );
+
+    @Update("""
+            UPDATE idempotency_record
+            SET response_body = #{responseBody}
+            WHERE user_id = #{userId} AND idempotency_key = #{key}
+            """)
+    int complete(
+            @Param("userId") Long userId,
+            @Param("key") String key,
+            @Param("responseBody") String responseBody
+    );
+
+    @Delete("DELETE FROM idempotency_record WHERE expires_at <= #{now}")
+    int purgeExpired(@Param("now") LocalDateTime now);
+}
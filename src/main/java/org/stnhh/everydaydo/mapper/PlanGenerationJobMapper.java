@@ -0,0 +1,7 @@
+package org.stnhh.everydaydo.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.stnhh.everydaydo.model.entity.PlanGenerationJobEntity;
+
+public interface PlanGenerationJobMapper extends BaseMapper<PlanGenerationJobEntity> {
+}
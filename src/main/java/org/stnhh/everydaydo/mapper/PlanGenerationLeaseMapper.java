@@ -0,0 +1,90 @@
+package org.stnhh.everydaydo.mapper;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+public interface PlanGenerationLeaseMapper {
+
+    @Insert("""
+            INSERT INTO plan_generation_lease (plan_date, shard, owner, lease_until, claimed_at)
+            VALUES (#{planDate}, #{shard}, #{owner}, #{leaseUntil}, #{now})
+            ON CONFLICT (plan_date, shard) DO UPDATE
+                SET owner = EXCLUDED.owner,
+                    lease_until = EXCLUDED.lease_until,
+                    claimed_at = EXCLUDED.claimed_at
+                WHERE plan_generation_lease.completed_at IS NULL
+                  AND plan_generation_lease.lease_until < EXCLUDED.claimed_at
+            """)
+    int claim(
+            @Param("planDate") LocalDate planDate,
+            @Param("shard") int shard,
+            @Param("owner") String owner,
+            @Param("now") LocalDateTime now,
+            @Param("leaseUntil") LocalDateTime leaseUntil
+    );
+
+    @Update("""
+            UPDATE plan_generation_lease
+            SET completed_at = #{now}, generated = #{generated}, skipped = #{skipped}
+            WHERE plan_date = #{planDate} AND shard = #{shard} AND owner = #{owner} AND completed_at IS NULL
+            """)
+    int complete(
+            @Param("planDate") LocalDate planDate,
+            @Param("shard") int shard,
+            @Param("owner") String owner,
+            @Param("now") LocalDateTime now,
+            @Param("generated") int generated,
+            @Param("skipped") int skipped
+    );
+
+    @Update("""
+            UPDATE plan_generation_lease
+            SET lease_until = #{leaseUntil}
+            WHERE plan_date = #{planDate} AND shard = #{shard} AND owner = #{owner} AND completed_at IS NULL
+            """)
+    int renew(
+            @Param("planDate") LocalDate planDate,
+            @Param("shard") int shard,
+            @Param("owner") String owner,
+            @Param("leaseUntil") LocalDateTime leaseUntil
+    );
+
+    @Update("""
+            UPDATE plan_generation_lease
+            SET lease_until = #{now}
+            WHERE plan_date = #{planDate} AND shard = #{shard} AND owner = #{owner} AND completed_at IS NULL
+            """)
+    int release(
+            @Param("planDate") LocalDate planDate,
+            @Param("shard") int shard,
+            @Param("owner") String owner,
+            @Param("now") LocalDateTime now
+    );
+
+    @Select("""
+            SELECT shard FROM plan_generation_lease
+            WHERE plan_date = #{planDate} AND completed_at IS NULL AND lease_until < #{now}
+            ORDER BY shard
+            """)
+    List<Integer> findExpiredShards(@Param("planDate") LocalDate planDate, @Param("now") LocalDateTime now);
+
+    @Select("""
+            SELECT plan_date FROM plan_generation_lease
+            WHERE plan_date BETWEEN #{from} AND #{to}
+            GROUP BY plan_date
+            HAVING COUNT(completed_at) >= #{shardCount}
+            """)
+    List<LocalDate> findCompletedDates(
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("shardCount") int shardCount
+    );
+
+    @Select("SELECT MIN(plan_date) FROM plan_generation_lease")
+    LocalDate findFirstPlanDate();
+}
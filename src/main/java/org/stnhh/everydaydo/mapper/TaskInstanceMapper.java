@@ -1,7 +1,117 @@
 package org.stnhh.everydaydo.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
 import org.stnhh.everydaydo.model.entity.TaskInstanceEntity;
 
 public interface TaskInstanceMapper extends BaseMapper<TaskInstanceEntity> {
+
+    @Select("""
+            <script>
+            INSERT INTO task_instance (user_id, template_id, title, description, plan_date, planned_start_time,
+                planned_minutes, completed_minutes, status, ad_hoc, created_at, updated_at)
+            VALUES
+            <foreach collection="list" item="item" separator=",">
+                (#{item.userId}, #{item.templateId}, #{item.title}, #{item.description,jdbcType=VARCHAR},
+                #{item.planDate}, #{item.plannedStartTime,jdbcType=TIME}, #{item.plannedMinutes},
+                #{item.completedMinutes}, #{item.status}, #{item.adHoc}, #{item.createdAt}, #{item.updatedAt})
+            </foreach>
+            ON CONFLICT (user_id, template_id, plan_date) WHERE template_id IS NOT NULL DO NOTHING
+            RETURNING user_id
+            </script>
+            """)
+    @Options(flushCache = Options.FlushCachePolicy.TRUE)
+    List<Long> insertFromTemplatesIgnoringConflicts(@Param("list") List<TaskInstanceEntity> list);
+
+    @Insert("""
+            <script>
+            INSERT INTO task_instance (user_id, template_id, title, description, plan_date, planned_start_time,
+                planned_minutes, completed_minutes, status, ad_hoc, created_at, updated_at)
+            VALUES
+            <foreach collection="list" item="item" separator=",">
+                (#{item.userId}, #{item.templateId,jdbcType=BIGINT}, #{item.title}, #{item.description,jdbcType=VARCHAR},
+                #{item.planDate}, #{item.plannedStartTime,jdbcType=TIME}, #{item.plannedMinutes},
+                #{item.completedMinutes}, #{item.status}, #{item.adHoc}, #{item.createdAt}, #{item.updatedAt})
+            </foreach>
+            </script>
+            """)
+    @Options(useGeneratedKeys = true, keyProperty = "id", keyColumn = "id")
+    int insertAll(@Param("list") List<TaskInstanceEntity> list);
+
+    @Select("""
+            UPDATE task_instance
+            SET completed_minutes = GREATEST(0, COALESCE(completed_minutes, 0) + #{deltaMinutes}),
+                status = CASE
+                    WHEN status = 'CANCELLED' THEN status
+                    WHEN GREATEST(0, COALESCE(completed_minutes, 0) + #{deltaMinutes}) >= COALESCE(planned_minutes, 0)
+                        THEN 'COMPLETED'
+                    WHEN GREATEST(0, COALESCE(completed_minutes, 0) + #{deltaMinutes}) > 0 THEN 'IN_PROGRESS'
+                    ELSE 'PENDING'
+                END,
+                updated_at = #{now}
+            WHERE id = #{taskId} AND user_id = #{userId}
+            RETURNING *
+            """)
+    @Options(flushCache = Options.FlushCachePolicy.TRUE)
+    TaskInstanceEntity adjustCompletedMinutes(
+            @Param("userId") Long userId,
+            @Param("taskId") Long taskId,
+            @Param("deltaMinutes") int deltaMinutes,
+            @Param("now") LocalDateTime now
+    );
+
+    @Select("""
+            <script>
+            UPDATE task_instance t
+            SET completed_minutes = GREATEST(0, COALESCE(t.completed_minutes, 0) + d.delta),
+                status = CASE
+                    WHEN t.status = 'CANCELLED' THEN t.status
+                    WHEN GREATEST(0, COALESCE(t.completed_minutes, 0) + d.delta) >= COALESCE(t.planned_minutes, 0)
+                        THEN 'COMPLETED'
+                    WHEN GREATEST(0, COALESCE(t.completed_minutes, 0) + d.delta) > 0 THEN 'IN_PROGRESS'
+                    ELSE 'PENDING'
+                END,
+                updated_at = #{now}
+            FROM (VALUES
+            <foreach collection="deltas" index="taskId" item="delta" separator=",">
+                (CAST(#{taskId} AS BIGINT), CAST(#{delta} AS INTEGER))
+            </foreach>
+            ) AS d(task_id, delta)
+            WHERE t.id = d.task_id AND t.user_id = #{userId}
+            RETURNING t.*
+            </script>
+            """)
+    @Options(flushCache = Options.FlushCachePolicy.TRUE)
+    List<TaskInstanceEntity> adjustCompletedMinutesBatch(
+            @Param("userId") Long userId,
+            @Param("deltas") Map<Long, Integer> deltas,
+            @Param("now") LocalDateTime now
+    );
+
+    @Select("""
+            <script>
+            SELECT id, user_id, template_id, title, description, plan_date, planned_start_time, planned_minutes,
+                   completed_minutes, status, ad_hoc, created_at, updated_at
+            FROM task_instance
+            WHERE user_id = #{userId}
+            <if test="from != null">AND plan_date >= #{from}</if>
+            <if test="toExclusive != null">AND plan_date &lt; #{toExclusive}</if>
+            ORDER BY plan_date, id
+            </script>
+            """)
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = 500)
+    Cursor<TaskInstanceEntity> streamForExport(
+            @Param("userId") Long userId,
+            @Param("from") LocalDate from,
+            @Param("toExclusive") LocalDate toExclusive
+    );
 }
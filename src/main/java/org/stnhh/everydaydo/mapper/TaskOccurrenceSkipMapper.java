@@ -0,0 +1,46 @@
+package org.stnhh.everydaydo.mapper;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.stnhh.everydaydo.model.entity.TaskOccurrenceSkipEntity;
+
+public interface TaskOccurrenceSkipMapper {
+
+    @Select("""
+            SELECT user_id, template_id, plan_date, created_at
+            FROM task_occurrence_skip
+            WHERE user_id = #{userId} AND plan_date BETWEEN #{from} AND #{to}
+            """)
+    List<TaskOccurrenceSkipEntity> findInRange(
+            @Param("userId") Long userId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    @Select("""
+            SELECT EXISTS (
+                SELECT 1 FROM task_occurrence_skip
+                WHERE user_id = #{userId} AND template_id = #{templateId} AND plan_date = #{planDate}
+            )
+            """)
+    boolean exists(
+            @Param("userId") Long userId,
+            @Param("templateId") Long templateId,
+            @Param("planDate") LocalDate planDate
+    );
+
+    @Insert("""
+            <script>
+            INSERT INTO task_occurrence_skip (user_id, template_id, plan_date, created_at)
+            VALUES
+            <foreach collection="list" item="item" separator=",">
+                (#{item.userId}, #{item.templateId}, #{item.planDate}, #{item.createdAt})
+            </foreach>
+            ON CONFLICT DO NOTHING
+            </script>
+            """)
+    int insertAllIgnoringConflicts(List<TaskOccurrenceSkipEntity> list);
+}
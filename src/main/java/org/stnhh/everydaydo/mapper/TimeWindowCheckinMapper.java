@@ -1,7 +1,45 @@
 package org.stnhh.everydaydo.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
 import org.stnhh.everydaydo.model.entity.TimeWindowCheckinEntity;
 
 public interface TimeWindowCheckinMapper extends BaseMapper<TimeWindowCheckinEntity> {
+
+    @Insert("""
+            <script>
+            INSERT INTO time_window_checkin (user_id, window_start, window_end, overall_comment, created_at)
+            VALUES
+            <foreach collection="list" item="item" separator=",">
+                (#{item.userId}, #{item.windowStart}, #{item.windowEnd},
+                #{item.overallComment,jdbcType=VARCHAR}, #{item.createdAt})
+            </foreach>
+            </script>
+            """)
+    @Options(useGeneratedKeys = true, keyProperty = "id", keyColumn = "id")
+    int insertAll(@Param("list") List<TimeWindowCheckinEntity> list);
+
+    @Select("""
+            <script>
+            SELECT id, user_id, window_start, window_end, overall_comment, created_at
+            FROM time_window_checkin
+            WHERE user_id = #{userId}
+            <if test="from != null">AND window_start >= #{from}</if>
+            <if test="toExclusive != null">AND window_start &lt; #{toExclusive}</if>
+            ORDER BY window_start, id
+            </script>
+            """)
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = 500)
+    Cursor<TimeWindowCheckinEntity> streamForExport(
+            @Param("userId") Long userId,
+            @Param("from") LocalDateTime from,
+            @Param("toExclusive") LocalDateTime toExclusive
+    );
 }
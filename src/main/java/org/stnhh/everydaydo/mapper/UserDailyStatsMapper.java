@@ -0,0 +1,141 @@
+package org.stnhh.everydaydo.mapper;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.stnhh.everydaydo.model.entity.UserDailyStatsEntity;
+
+public interface UserDailyStatsMapper {
+
+    @Insert("""
+            <script>
+            INSERT INTO user_daily_stats (user_id, plan_date, total_tasks, completed_tasks, ad_hoc_tasks,
+                planned_minutes, completed_minutes, updated_at)
+            SELECT #{userId}, d.plan_date,
+                   COUNT(t.id),
+                   COUNT(t.id) FILTER (WHERE t.status = 'COMPLETED'),
+                   COUNT(t.id) FILTER (WHERE t.ad_hoc),
+                   COALESCE(SUM(t.planned_minutes), 0),
+                   COALESCE(SUM(t.completed_minutes), 0),
+                   #{now}
+            FROM (VALUES
+                <foreach collection="planDates" item="planDate" separator=",">
+                    (CAST(#{planDate} AS DATE))
+                </foreach>
+            ) AS d(plan_date)
+            LEFT JOIN task_instance t ON t.user_id = #{userId} AND t.plan_date = d.plan_date
+            GROUP BY d.plan_date
+            ON CONFLICT (user_id, plan_date) DO UPDATE
+                SET total_tasks = EXCLUDED.total_tasks,
+                    completed_tasks = EXCLUDED.completed_tasks,
+                    ad_hoc_tasks = EXCLUDED.ad_hoc_tasks,
+                    planned_minutes = EXCLUDED.planned_minutes,
+                    completed_minutes = EXCLUDED.completed_minutes,
+                    updated_at = EXCLUDED.updated_at
+            </script>
+            """)
+    int refresh(
+            @Param("userId") Long userId,
+            @Param("planDates") Collection<LocalDate> planDates,
+            @Param("now") LocalDateTime now
+    );
+
+    @Insert("""
+            <script>
+            INSERT INTO user_daily_stats (user_id, plan_date, total_tasks, completed_tasks, ad_hoc_tasks,
+                planned_minutes, completed_minutes, updated_at)
+            SELECT u.user_id, #{planDate},
+                   COUNT(t.id),
+                   COUNT(t.id) FILTER (WHERE t.status = 'COMPLETED'),
+                   COUNT(t.id) FILTER (WHERE t.ad_hoc),
+                   COALESCE(SUM(t.planned_minutes), 0),
+                   COALESCE(SUM(t.completed_minutes), 0),
+                   #{now}
+            FROM (VALUES
+                <foreach collection="userIds" item="userId" separator=",">
+                    (CAST(#{userId} AS BIGINT))
+                </foreach>
+            ) AS u(user_id)
+            LEFT JOIN task_instance t ON t.user_id = u.user_id AND t.plan_date = #{planDate}
+            GROUP BY u.user_id
+            ON CONFLICT (user_id, plan_date) DO UPDATE
+                SET total_tasks = EXCLUDED.total_tasks,
+                    completed_tasks = EXCLUDED.completed_tasks,
+                    ad_hoc_tasks = EXCLUDED.ad_hoc_tasks,
+                    planned_minutes = EXCLUDED.planned_minutes,
+                    completed_minutes = EXCLUDED.completed_minutes,
+                    updated_at = EXCLUDED.updated_at
+            </script>
+            """)
+    int refreshForUsers(
+            @Param("userIds") Collection<Long> userIds,
+            @Param("planDate") LocalDate planDate,
+            @Param("now") LocalDateTime now
+    );
+
+    @Select("""
+            SELECT COALESCE(SUM(total_tasks), 0) AS total_tasks,
+                   COALESCE(SUM(completed_tasks), 0) AS completed_tasks,
+                   COALESCE(SUM(ad_hoc_tasks), 0) AS ad_hoc_tasks,
+                   COALESCE(SUM(planned_minutes), 0) AS planned_minutes,
+                   COALESCE(SUM(completed_minutes), 0) AS completed_minutes
+            FROM user_daily_stats
+            WHERE user_id = #{userId} AND plan_date >= #{from} AND plan_date < #{toExclusive}
+            """)
+    UserDailyStatsEntity sumRange(
+            @Param("userId") Long userId,
+            @Param("from") LocalDate from,
+            @Param("toExclusive") LocalDate toExclusive
+    );
+
+    @Select("""
+            SELECT CAST(date_trunc(#{unit}, CAST(plan_date AS TIMESTAMP)) AS DATE) AS plan_date,
+                   SUM(total_tasks) AS total_tasks,
+                   SUM(completed_tasks) AS completed_tasks,
+                   SUM(ad_hoc_tasks) AS ad_hoc_tasks,
+                   SUM(planned_minutes) AS planned_minutes,
+                   SUM(completed_minutes) AS completed_minutes
+            FROM user_daily_stats
+            WHERE user_id = #{userId} AND plan_date >= #{from} AND plan_date < #{toExclusive}
+            GROUP BY 1
+            ORDER BY 1
+            """)
+    List<UserDailyStatsEntity> sumByBucket(
+            @Param("userId") Long userId,
+            @Param("unit") String unit,
+            @Param("from") LocalDate from,
+            @Param("toExclusive") LocalDate toExclusive
+    );
+
+    @Select("""
+            WITH actual AS (
+                SELECT user_id, plan_date,
+                       COUNT(*) AS total_tasks,
+                       COUNT(*) FILTER (WHERE status = 'COMPLETED') AS completed_tasks,
+                       COUNT(*) FILTER (WHERE ad_hoc) AS ad_hoc_tasks,
+                       SUM(planned_minutes) AS planned_minutes,
+                       SUM(completed_minutes) AS completed_minutes
+                FROM task_instance
+                WHERE plan_date >= #{from} AND plan_date < #{toExclusive}
+                GROUP BY user_id, plan_date
+            ),
+            rolled AS (
+                SELECT * FROM user_daily_stats
+                WHERE plan_date >= #{from} AND plan_date < #{toExclusive}
+            )
+            SELECT COALESCE(a.user_id, r.user_id) AS user_id, COALESCE(a.plan_date, r.plan_date) AS plan_date
+            FROM actual a
+            FULL JOIN rolled r ON r.user_id = a.user_id AND r.plan_date = a.plan_date
+            WHERE (COALESCE(a.total_tasks, 0), COALESCE(a.completed_tasks, 0), COALESCE(a.ad_hoc_tasks, 0),
+                   COALESCE(a.planned_minutes, 0), COALESCE(a.completed_minutes, 0))
+               IS DISTINCT FROM
+                  (COALESCE(r.total_tasks, 0), COALESCE(r.completed_tasks, 0), COALESCE(r.ad_hoc_tasks, 0),
+                   COALESCE(r.planned_minutes, 0), COALESCE(r.completed_minutes, 0))
+            ORDER BY 1, 2
+            """)
+    List<UserDailyStatsEntity> findDrifted(@Param("from") LocalDate from, @Param("toExclusive") LocalDate toExclusive);
+}
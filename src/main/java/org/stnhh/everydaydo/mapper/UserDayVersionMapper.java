@@ -0,0 +1,52 @@
+package org.stnhh.everydaydo.mapper;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.stnhh.everydaydo.model.entity.UserDayVersionEntity;
+
+public interface UserDayVersionMapper {
+
+    @Select("""
+            SELECT user_id, plan_date, tasks_version, checkins_version
+            FROM user_day_version
+            WHERE user_id = #{userId} AND plan_date = #{planDate}
+            """)
+    UserDayVersionEntity find(@Param("userId") Long userId, @Param("planDate") LocalDate planDate);
+
+    @Insert("""
+            <script>
+            INSERT INTO user_day_version (user_id, plan_date, tasks_version)
+            VALUES
+            <foreach collection="planDates" item="planDate" separator=",">
+                (#{userId}, #{planDate}, 1)
+            </foreach>
+            ON CONFLICT (user_id, plan_date) DO UPDATE
+                SET tasks_version = user_day_version.tasks_version + 1
+            </script>
+            """)
+    int bumpTasks(@Param("userId") Long userId, @Param("planDates") Collection<LocalDate> planDates);
+
+    @Insert("""
+            <script>
+            INSERT INTO user_day_version (user_id, plan_date, tasks_version)
+            VALUES
+            <foreach collection="userIds" item="userId" separator=",">
+                (#{userId}, #{planDate}, 1)
+            </foreach>
+            ON CONFLICT (user_id, plan_date) DO UPDATE
+                SET tasks_version = user_day_version.tasks_version + 1
+            </script>
+            """)
+    int bumpTasksForUsers(@Param("userIds") Collection<Long> userIds, @Param("planDate") LocalDate planDate);
+
+    @Insert("""
+            INSERT INTO user_day_version (user_id, plan_date, checkins_version)
+            VALUES (#{userId}, #{planDate}, 1)
+            ON CONFLICT (user_id, plan_date) DO UPDATE
+                SET checkins_version = user_day_version.checkins_version + 1
+            """)
+    int bumpCheckins(@Param("userId") Long userId, @Param("planDate") LocalDate planDate);
+}
@@ -0,0 +1,11 @@
+package org.stnhh.everydaydo.model.dto.checkin;
+
+import java.util.List;
+
+public record BatchCheckinSyncResponse(
+        int submitted,
+        int duplicates,
+        int rejected,
+        List<CheckinSyncResult> results
+) {
+}
@@ -0,0 +1,11 @@
+package org.stnhh.everydaydo.model.dto.checkin;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record BatchSubmitHourlyCheckinRequest(
+        @NotEmpty @Size(max = 100) List<@Valid SubmitHourlyCheckinRequest> checkins
+) {
+}
@@ -0,0 +1,14 @@
+package org.stnhh.everydaydo.model.dto.checkin;
+
+import java.time.LocalDateTime;
+import org.stnhh.everydaydo.model.enums.CheckinSyncStatus;
+
+public record CheckinSyncResult(
+        int index,
+        LocalDateTime windowStart,
+        LocalDateTime windowEnd,
+        CheckinSyncStatus status,
+        String message,
+        HourlyCheckinResponse checkin
+) {
+}
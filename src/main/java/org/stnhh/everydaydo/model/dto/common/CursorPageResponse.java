@@ -0,0 +1,10 @@
+package org.stnhh.everydaydo.model.dto.common;
+
+import java.util.List;
+
+public record CursorPageResponse<T>(
+        List<T> items,
+        int size,
+        String nextCursor
+) {
+}
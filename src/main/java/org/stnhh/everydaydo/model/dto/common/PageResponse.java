@@ -7,6 +7,7 @@ public record PageResponse<T>(
         int page,
         int size,
         long total,
-        int totalPages
+        int totalPages,
+        String nextCursor
 ) {
 }
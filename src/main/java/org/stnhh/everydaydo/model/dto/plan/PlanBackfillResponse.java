@@ -0,0 +1,17 @@
+package org.stnhh.everydaydo.model.dto.plan;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.stnhh.everydaydo.model.enums.PlanBackfillStatus;
+
+public record PlanBackfillResponse(
+        PlanBackfillStatus status,
+        List<LocalDate> pendingDates,
+        List<LocalDate> completedDates,
+        LocalDate currentDate,
+        int generated,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt
+) {
+}
@@ -0,0 +1,16 @@
+package org.stnhh.everydaydo.model.dto.plan;
+
+import java.time.LocalDateTime;
+
+public record PlanGenerationJobChunkResponse(
+        Long id,
+        Long firstUserId,
+        Long lastUserId,
+        int users,
+        int generated,
+        int skipped,
+        long elapsedMillis,
+        String error,
+        LocalDateTime createdAt
+) {
+}
@@ -0,0 +1,26 @@
+package org.stnhh.everydaydo.model.dto.plan;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.stnhh.everydaydo.model.enums.PlanGenerationJobStatus;
+
+public record PlanGenerationJobResponse(
+        Long id,
+        LocalDate from,
+        LocalDate to,
+        Integer shardIndex,
+        Integer shardCount,
+        PlanGenerationJobStatus status,
+        Long cursorUserId,
+        int users,
+        int generated,
+        int skipped,
+        int failedChunks,
+        String lastError,
+        LocalDateTime heartbeatAt,
+        LocalDateTime createdAt,
+        LocalDateTime finishedAt,
+        List<PlanGenerationJobChunkResponse> recentChunks
+) {
+}
@@ -0,0 +1,10 @@
+package org.stnhh.everydaydo.model.dto.plan;
+
+import java.time.LocalDate;
+
+public record PlanGenerationResponse(
+        LocalDate date,
+        int generated,
+        int skipped
+) {
+}
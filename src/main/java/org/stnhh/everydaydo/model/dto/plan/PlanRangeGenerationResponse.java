@@ -0,0 +1,16 @@
+package org.stnhh.everydaydo.model.dto.plan;
+
+import java.time.LocalDate;
+
+public record PlanRangeGenerationResponse(
+        Long jobId,
+        LocalDate from,
+        LocalDate to,
+        int users,
+        int generated,
+        int skipped,
+        int failedChunks,
+        long elapsedMillis,
+        double instancesPerSecond
+) {
+}
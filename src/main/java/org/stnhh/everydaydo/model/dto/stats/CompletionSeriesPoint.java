@@ -0,0 +1,16 @@
+package org.stnhh.everydaydo.model.dto.stats;
+
+import java.time.LocalDate;
+
+public record CompletionSeriesPoint(
+        LocalDate startDate,
+        LocalDate endDate,
+        Integer totalTasks,
+        Integer completedTasks,
+        Integer adHocTasks,
+        Integer plannedMinutes,
+        Integer completedMinutes,
+        Double taskCompletionRate,
+        Double minuteCompletionRate
+) {
+}
@@ -0,0 +1,13 @@
+package org.stnhh.everydaydo.model.dto.stats;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.stnhh.everydaydo.model.enums.SeriesBucket;
+
+public record CompletionSeriesResponse(
+        SeriesBucket bucket,
+        LocalDate startDate,
+        LocalDate endDate,
+        List<CompletionSeriesPoint> points
+) {
+}
@@ -0,0 +1,11 @@
+package org.stnhh.everydaydo.model.dto.task;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record BatchCreateTasksRequest(
+        @NotEmpty @Size(max = 200) List<@Valid CreateManualTaskRequest> tasks
+) {
+}
@@ -0,0 +1,11 @@
+package org.stnhh.everydaydo.model.dto.task;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record BatchDeleteTasksRequest(
+        @NotEmpty @Size(max = 500) List<@NotNull Long> taskIds
+) {
+}
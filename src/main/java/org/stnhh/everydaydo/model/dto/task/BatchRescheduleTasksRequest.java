@@ -0,0 +1,13 @@
+package org.stnhh.everydaydo.model.dto.task;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.time.LocalDate;
+import java.util.List;
+
+public record BatchRescheduleTasksRequest(
+        @NotEmpty @Size(max = 500) List<@NotNull Long> taskIds,
+        @NotNull LocalDate planDate
+) {
+}
@@ -0,0 +1,13 @@
+package org.stnhh.everydaydo.model.dto.task;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import org.stnhh.everydaydo.model.enums.TaskStatus;
+
+public record BatchTaskStatusRequest(
+        @NotEmpty @Size(max = 500) List<@NotNull Long> taskIds,
+        @NotNull TaskStatus status
+) {
+}
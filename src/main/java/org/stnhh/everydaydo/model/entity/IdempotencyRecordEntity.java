@@ -0,0 +1,25 @@
+package org.stnhh.everydaydo.model.entity;
+
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableName;
+import java.time.LocalDateTime;
+import lombok.Data;
+
+@Data
+@TableName("idempotency_record")
+public class IdempotencyRecordEntity {
+
+    private Long userId;
+
+    private String idempotencyKey;
+
+    private String requestHash;
+
+    private String responseBody;
+
+    @TableField("created_at")
+    private LocalDateTime createdAt;
+
+    @TableField("expires_at")
+    private LocalDateTime expiresAt;
+}
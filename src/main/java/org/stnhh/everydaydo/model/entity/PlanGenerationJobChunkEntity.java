@@ -0,0 +1,35 @@
+package org.stnhh.everydaydo.model.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import java.time.LocalDateTime;
+import lombok.Data;
+
+@Data
+@TableName("plan_generation_job_chunk")
+public class PlanGenerationJobChunkEntity {
+
+    @TableId(type = IdType.AUTO)
+    private Long id;
+
+    private Long jobId;
+
+    private Long firstUserId;
+
+    private Long lastUserId;
+
+    private Integer users;
+
+    private Integer generated;
+
+    private Integer skipped;
+
+    private Long elapsedMillis;
+
+    private String error;
+
+    @TableField("created_at")
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,49 @@
+package org.stnhh.everydaydo.model.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import lombok.Data;
+import org.stnhh.everydaydo.model.enums.PlanGenerationJobStatus;
+
+@Data
+@TableName("plan_generation_job")
+public class PlanGenerationJobEntity {
+
+    @TableId(type = IdType.AUTO)
+    private Long id;
+
+    private LocalDate planFrom;
+
+    private LocalDate planTo;
+
+    private Integer shardIndex;
+
+    private Integer shardCount;
+
+    private PlanGenerationJobStatus status;
+
+    private Long cursorUserId;
+
+    private Integer users;
+
+    private Integer generated;
+
+    private Integer skipped;
+
+    private Integer failedChunks;
+
+    private String lastError;
+
+    @TableField("heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    @TableField("created_at")
+    private LocalDateTime createdAt;
+
+    @TableField("finished_at")
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,21 @@
+package org.stnhh.everydaydo.model.entity;
+
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableName;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import lombok.Data;
+
+@Data
+@TableName("task_occurrence_skip")
+public class TaskOccurrenceSkipEntity {
+
+    private Long userId;
+
+    private Long templateId;
+
+    private LocalDate planDate;
+
+    @TableField("created_at")
+    private LocalDateTime createdAt;
+}
@@ -35,6 +35,8 @@ public class TaskTemplateEntity {
 
     private Integer intervalDays;
 
+    private Integer intervalResidue;
+
     private LocalTime defaultStartTime;
 
     private LocalDate activeFrom;
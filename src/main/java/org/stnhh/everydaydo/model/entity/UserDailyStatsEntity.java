@@ -0,0 +1,29 @@
+package org.stnhh.everydaydo.model.entity;
+
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableName;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import lombok.Data;
+
+@Data
+@TableName("user_daily_stats")
+public class UserDailyStatsEntity {
+
+    private Long userId;
+
+    private LocalDate planDate;
+
+    private Integer totalTasks;
+
+    private Integer completedTasks;
+
+    private Integer adHocTasks;
+
+    private Integer plannedMinutes;
+
+    private Integer completedMinutes;
+
+    @TableField("updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,18 @@
+package org.stnhh.everydaydo.model.entity;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import java.time.LocalDate;
+import lombok.Data;
+
+@Data
+@TableName("user_day_version")
+public class UserDayVersionEntity {
+
+    private Long userId;
+
+    private LocalDate planDate;
+
+    private Long tasksVersion;
+
+    private Long checkinsVersion;
+}
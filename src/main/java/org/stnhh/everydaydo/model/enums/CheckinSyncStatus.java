@@ -0,0 +1,7 @@
+package org.stnhh.everydaydo.model.enums;
+
+public enum CheckinSyncStatus {
+    SUBMITTED,
+    DUPLICATE,
+    REJECTED
+}
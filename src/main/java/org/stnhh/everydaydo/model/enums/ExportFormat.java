@@ -0,0 +1,6 @@
+package org.stnhh.everydaydo.model.enums;
+
+public enum ExportFormat {
+    NDJSON,
+    CSV
+}
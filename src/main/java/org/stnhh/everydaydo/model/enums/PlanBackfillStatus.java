@@ -0,0 +1,9 @@
+package org.stnhh.everydaydo.model.enums;
+
+public enum PlanBackfillStatus {
+    IDLE,
+    RUNNING,
+    COMPLETED,
+    PARTIAL,
+    FAILED
+}
@@ -0,0 +1,52 @@
+package org.stnhh.everydaydo.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.stnhh.everydaydo.mapper.CompletionLogMapper;
+import org.stnhh.everydaydo.model.dto.checkin.CheckinRecordResponse;
+import org.stnhh.everydaydo.model.dto.checkin.HourlyCheckinResponse;
+import org.stnhh.everydaydo.model.entity.CompletionLogEntity;
+import org.stnhh.everydaydo.model.entity.TimeWindowCheckinEntity;
+
+@Component
+@RequiredArgsConstructor
+public class CheckinLoader {
+
+    private final CompletionLogMapper completionLogMapper;
+
+    public List<HourlyCheckinResponse> hydrate(List<TimeWindowCheckinEntity> checkins) {
+        if (checkins.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, List<CompletionLogEntity>> logsByCheckinId = completionLogMapper.selectList(
+                        new LambdaQueryWrapper<CompletionLogEntity>()
+                                .in(CompletionLogEntity::getCheckinId, checkins.stream().map(TimeWindowCheckinEntity::getId).toList())
+                                .orderByAsc(CompletionLogEntity::getId)
+                )
+                .stream()
+                .collect(Collectors.groupingBy(CompletionLogEntity::getCheckinId));
+
+        return checkins.stream()
+                .map(checkin -> new HourlyCheckinResponse(
+                        checkin.getId(),
+                        checkin.getWindowStart(),
+                        checkin.getWindowEnd(),
+                        checkin.getOverallComment(),
+                        logsByCheckinId.getOrDefault(checkin.getId(), List.of()).stream()
+                                .map(log -> new CheckinRecordResponse(
+                                        log.getTaskInstanceId(),
+                                        log.getAddedMinutes(),
+                                        log.getComment(),
+                                        log.getReferenceLink(),
+                                        false
+                                ))
+                                .toList()
+                ))
+                .toList();
+    }
+}
@@ -0,0 +1,130 @@
+package org.stnhh.everydaydo.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.stnhh.everydaydo.config.CheckinPromptCacheProperties;
+import org.stnhh.everydaydo.model.dto.task.TaskInstanceResponse;
+import org.stnhh.everydaydo.model.entity.TimeWindowCheckinEntity;
+
+// Node-local, so writes made on another replica only show up once entries expire; keep the TTL short.
+@Component
+public class CheckinPromptCache {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final Cache<WindowKey, BitSet> submittedWindows;
+    private final Cache<DayKey, List<TaskInstanceResponse>> plannedTasks;
+
+    public CheckinPromptCache(CheckinPromptCacheProperties properties, MeterRegistry meterRegistry) {
+        this.submittedWindows = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.expireAfterWrite())
+                .recordStats()
+                .build();
+        this.plannedTasks = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.expireAfterWrite())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, submittedWindows, "submittedWindows");
+        CaffeineCacheMetrics.monitor(meterRegistry, plannedTasks, "windowPlannedTasks");
+    }
+
+    public boolean isSubmitted(
+            Long userId,
+            LocalDateTime windowStart,
+            LocalDateTime windowEnd,
+            Supplier<List<TimeWindowCheckinEntity>> dayCheckins
+    ) {
+        int windowMinutes = windowMinutes(windowStart, windowEnd);
+        int startMinute = startMinute(windowStart);
+        if (windowMinutes < 0 || startMinute < 0) {
+            throw new IllegalArgumentException("Window must start and end on whole minutes");
+        }
+
+        BitSet starts = submittedWindows.get(new WindowKey(userId, windowStart.toLocalDate(), windowMinutes), key -> {
+            BitSet bits = new BitSet(MINUTES_PER_DAY);
+            for (TimeWindowCheckinEntity checkin : dayCheckins.get()) {
+                if (windowMinutes(checkin.getWindowStart(), checkin.getWindowEnd()) == windowMinutes
+                        && startMinute(checkin.getWindowStart()) >= 0) {
+                    bits.set(startMinute(checkin.getWindowStart()));
+                }
+            }
+            return bits;
+        });
+        return starts.get(startMinute);
+    }
+
+    public List<TaskInstanceResponse> plannedTasks(Long userId, LocalDate date, Supplier<List<TaskInstanceResponse>> loader) {
+        return plannedTasks.get(new DayKey(userId, date), key -> loader.get());
+    }
+
+    public void markSubmittedAfterCommit(Long userId, LocalDateTime windowStart, LocalDateTime windowEnd, boolean submitted) {
+        int windowMinutes = windowMinutes(windowStart, windowEnd);
+        int startMinute = startMinute(windowStart);
+        if (windowMinutes < 0 || startMinute < 0) {
+            return;
+        }
+        WindowKey windowKey = new WindowKey(userId, windowStart.toLocalDate(), windowMinutes);
+        // Copy-on-write: readers may be testing the current bitmap while this runs.
+        afterCommit(() -> submittedWindows.asMap().computeIfPresent(windowKey, (key, bits) -> {
+            BitSet updated = (BitSet) bits.clone();
+            updated.set(startMinute, submitted);
+            return updated;
+        }));
+    }
+
+    public void evictPlannedTasksAfterCommit(Long userId, Collection<LocalDate> dates) {
+        afterCommit(() -> dates.forEach(date -> plannedTasks.invalidate(new DayKey(userId, date))));
+    }
+
+    public void evictPlannedTasksAfterCommit(Collection<Long> userIds, LocalDate date) {
+        afterCommit(() -> userIds.forEach(userId -> plannedTasks.invalidate(new DayKey(userId, date))));
+    }
+
+    private int windowMinutes(LocalDateTime windowStart, LocalDateTime windowEnd) {
+        Duration duration = Duration.between(windowStart, windowEnd);
+        if (duration.toSecondsPart() != 0 || duration.toNanosPart() != 0) {
+            return -1;
+        }
+        return (int) duration.toMinutes();
+    }
+
+    private int startMinute(LocalDateTime windowStart) {
+        if (windowStart.getSecond() != 0 || windowStart.getNano() != 0) {
+            return -1;
+        }
+        return windowStart.getHour() * 60 + windowStart.getMinute();
+    }
+
+    private void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+
+    private record WindowKey(Long userId, LocalDate date, int windowMinutes) {
+    }
+
+    private record DayKey(Long userId, LocalDate date) {
+    }
+}
@@ -0,0 +1,73 @@
+package org.stnhh.everydaydo.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.stnhh.everydaydo.config.PlanProperties;
+import org.stnhh.everydaydo.mapper.UserDailyStatsMapper;
+import org.stnhh.everydaydo.mapper.UserDayVersionMapper;
+import org.stnhh.everydaydo.model.entity.UserDayVersionEntity;
+
+@Service
+@RequiredArgsConstructor
+public class DayVersionService {
+
+    private final UserDayVersionMapper userDayVersionMapper;
+    private final UserDailyStatsMapper userDailyStatsMapper;
+    private final TaskListCache taskListCache;
+    private final CheckinPromptCache checkinPromptCache;
+    private final TaskTemplateService taskTemplateService;
+    private final HolidayService holidayService;
+    private final PlanProperties planProperties;
+
+    @Transactional
+    public void markTasksChanged(Long userId, LocalDate date) {
+        markTasksChanged(userId, List.of(date));
+    }
+
+    @Transactional
+    public void markTasksChanged(Long userId, Collection<LocalDate> dates) {
+        if (!dates.isEmpty()) {
+            userDayVersionMapper.bumpTasks(userId, new TreeSet<>(dates));
+            // The bump holds the day rows' locks, so this recount sees every committed write to those days.
+            userDailyStatsMapper.refresh(userId, new TreeSet<>(dates), LocalDateTime.now());
+            taskListCache.evictAfterCommit(userId, dates);
+            checkinPromptCache.evictPlannedTasksAfterCommit(userId, dates);
+        }
+    }
+
+    @Transactional
+    public void markTasksChanged(Collection<Long> userIds, LocalDate date) {
+        if (!userIds.isEmpty()) {
+            // Sorted so concurrent bulk bumps lock rows in the same order.
+            userDayVersionMapper.bumpTasksForUsers(new TreeSet<>(userIds), date);
+            userDailyStatsMapper.refreshForUsers(new TreeSet<>(userIds), date, LocalDateTime.now());
+            taskListCache.evictAfterCommit(userIds, date);
+            checkinPromptCache.evictPlannedTasksAfterCommit(userIds, date);
+        }
+    }
+
+    public void markCheckinsChanged(Long userId, LocalDate date) {
+        userDayVersionMapper.bumpCheckins(userId, date);
+    }
+
+    public String taskListETag(Long userId, LocalDate date) {
+        UserDayVersionEntity version = userDayVersionMapper.find(userId, date);
+        String tag = userId + "-" + date + "-t" + (version == null ? 0 : version.getTasksVersion());
+        if (!planProperties.lazyMaterialization()) {
+            return tag;
+        }
+        // Virtual occurrences come straight from templates and the holiday calendar, which do not bump day versions.
+        return tag + "-" + taskTemplateService.fingerprint(userId) + (holidayService.isHoliday(date) ? "-h" : "-w");
+    }
+
+    public String checkinListETag(Long userId, LocalDate date) {
+        UserDayVersionEntity version = userDayVersionMapper.find(userId, date);
+        return userId + "-" + date + "-c" + (version == null ? 0 : version.getCheckinsVersion());
+    }
+}
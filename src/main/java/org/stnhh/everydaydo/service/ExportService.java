@@ -0,0 +1,214 @@
+package org.stnhh.everydaydo.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.stnhh.everydaydo.mapper.CompletionLogMapper;
+import org.stnhh.everydaydo.mapper.TaskInstanceMapper;
+import org.stnhh.everydaydo.mapper.TimeWindowCheckinMapper;
+import org.stnhh.everydaydo.model.entity.CompletionLogEntity;
+import org.stnhh.everydaydo.model.entity.TaskInstanceEntity;
+import org.stnhh.everydaydo.model.entity.TimeWindowCheckinEntity;
+import org.stnhh.everydaydo.model.enums.ExportFormat;
+
+@Service
+public class ExportService {
+
+    private static final List<Column<TaskInstanceEntity>> TASK_COLUMNS = List.of(
+            new Column<>("id", TaskInstanceEntity::getId),
+            new Column<>("templateId", TaskInstanceEntity::getTemplateId),
+            new Column<>("title", TaskInstanceEntity::getTitle),
+            new Column<>("description", TaskInstanceEntity::getDescription),
+            new Column<>("planDate", TaskInstanceEntity::getPlanDate),
+            new Column<>("plannedStartTime", TaskInstanceEntity::getPlannedStartTime),
+            new Column<>("plannedMinutes", TaskInstanceEntity::getPlannedMinutes),
+            new Column<>("completedMinutes", TaskInstanceEntity::getCompletedMinutes),
+            new Column<>("status", TaskInstanceEntity::getStatus),
+            new Column<>("adHoc", TaskInstanceEntity::getAdHoc),
+            new Column<>("createdAt", TaskInstanceEntity::getCreatedAt),
+            new Column<>("updatedAt", TaskInstanceEntity::getUpdatedAt)
+    );
+
+    // Matches streamForExport's ORDER BY plan_date, id; virtual ids are negative, so they lead their day.
+    private static final Comparator<TaskInstanceEntity> TASK_ORDER = Comparator
+            .comparing(TaskInstanceEntity::getPlanDate)
+            .thenComparing(TaskInstanceEntity::getId);
+
+    private static final List<Column<TimeWindowCheckinEntity>> CHECKIN_COLUMNS = List.of(
+            new Column<>("id", TimeWindowCheckinEntity::getId),
+            new Column<>("windowStart", TimeWindowCheckinEntity::getWindowStart),
+            new Column<>("windowEnd", TimeWindowCheckinEntity::getWindowEnd),
+            new Column<>("overallComment", TimeWindowCheckinEntity::getOverallComment),
+            new Column<>("createdAt", TimeWindowCheckinEntity::getCreatedAt)
+    );
+
+    private static final List<Column<CompletionLogEntity>> COMPLETION_LOG_COLUMNS = List.of(
+            new Column<>("id", CompletionLogEntity::getId),
+            new Column<>("checkinId", CompletionLogEntity::getCheckinId),
+            new Column<>("taskInstanceId", CompletionLogEntity::getTaskInstanceId),
+            new Column<>("addedMinutes", CompletionLogEntity::getAddedMinutes),
+            new Column<>("comment", CompletionLogEntity::getComment),
+            new Column<>("referenceLink", CompletionLogEntity::getReferenceLink),
+            new Column<>("createdAt", CompletionLogEntity::getCreatedAt)
+    );
+
+    private final TaskInstanceMapper taskInstanceMapper;
+    private final TaskInstanceService taskInstanceService;
+    private final TimeWindowCheckinMapper timeWindowCheckinMapper;
+    private final CompletionLogMapper completionLogMapper;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ExportService(
+            TaskInstanceMapper taskInstanceMapper,
+            TaskInstanceService taskInstanceService,
+            TimeWindowCheckinMapper timeWindowCheckinMapper,
+            CompletionLogMapper completionLogMapper,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.taskInstanceMapper = taskInstanceMapper;
+        this.taskInstanceService = taskInstanceService;
+        this.timeWindowCheckinMapper = timeWindowCheckinMapper;
+        this.completionLogMapper = completionLogMapper;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public StreamingResponseBody exportTasks(Long userId, ExportFormat format, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        LocalDate toExclusive = to == null ? null : to.plusDays(1);
+        LocalDate today = LocalDate.now();
+        // Elapsed days are written out before streaming; today's lazy occurrences are merged in without writing.
+        taskInstanceService.materializeDueOccurrences(userId, from == null ? LocalDate.EPOCH : from, to == null ? today : to);
+        List<TaskInstanceEntity> projected = taskInstanceService.listProjectedOccurrences(
+                        userId, from == null ? today : from, to == null || to.isAfter(today) ? today : to)
+                .stream()
+                .sorted(TASK_ORDER)
+                .toList();
+        return out -> write(out, format, TASK_COLUMNS,
+                () -> taskInstanceMapper.streamForExport(userId, from, toExclusive), projected, TASK_ORDER);
+    }
+
+    public StreamingResponseBody exportCheckins(Long userId, ExportFormat format, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        LocalDateTime start = startOf(from);
+        LocalDateTime endExclusive = endOf(to);
+        return out -> write(out, format, CHECKIN_COLUMNS,
+                () -> timeWindowCheckinMapper.streamForExport(userId, start, endExclusive), List.of(), null);
+    }
+
+    public StreamingResponseBody exportCompletionLogs(Long userId, ExportFormat format, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        LocalDateTime start = startOf(from);
+        LocalDateTime endExclusive = endOf(to);
+        return out -> write(out, format, COMPLETION_LOG_COLUMNS,
+                () -> completionLogMapper.streamForExport(userId, start, endExclusive), List.of(), null);
+    }
+
+    private <T> void write(
+            OutputStream out,
+            ExportFormat format,
+            List<Column<T>> columns,
+            Supplier<Cursor<T>> rows,
+            List<T> extraRows,
+            Comparator<T> order
+    ) {
+        // PostgreSQL only honours the cursor fetch size inside a transaction; otherwise it buffers the whole result.
+        readOnlyTransaction.executeWithoutResult(status -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            try (Cursor<T> cursor = rows.get()) {
+                if (format == ExportFormat.CSV) {
+                    writer.write(String.join(",", columns.stream().map(Column::name).toList()));
+                    writer.write("\r\n");
+                }
+                int nextExtra = 0;
+                for (T row : cursor) {
+                    while (nextExtra < extraRows.size() && order.compare(extraRows.get(nextExtra), row) < 0) {
+                        writeRow(writer, format, columns, extraRows.get(nextExtra++));
+                    }
+                    writeRow(writer, format, columns, row);
+                }
+                while (nextExtra < extraRows.size()) {
+                    writeRow(writer, format, columns, extraRows.get(nextExtra++));
+                }
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private <T> void writeRow(Writer writer, ExportFormat format, List<Column<T>> columns, T row) throws IOException {
+        if (format == ExportFormat.CSV) {
+            writeCsvRow(writer, columns, row);
+        } else {
+            writeJsonLine(writer, columns, row);
+        }
+    }
+
+    private <T> void writeCsvRow(Writer writer, List<Column<T>> columns, T row) throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = columns.get(i).value().apply(row);
+            if (value != null) {
+                writer.write(csvField(value.toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private <T> void writeJsonLine(Writer writer, List<Column<T>> columns, T row) throws IOException {
+        Map<String, Object> line = new LinkedHashMap<>();
+        for (Column<T> column : columns) {
+            line.put(column.name(), column.value().apply(row));
+        }
+        writer.write(objectMapper.writeValueAsString(line));
+        writer.write('\n');
+    }
+
+    private String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("from cannot be later than to");
+        }
+    }
+
+    private LocalDateTime startOf(LocalDate date) {
+        return date == null ? null : date.atStartOfDay();
+    }
+
+    private LocalDateTime endOf(LocalDate date) {
+        return date == null ? null : date.plusDays(1).atStartOfDay();
+    }
+
+    private record Column<T>(String name, Function<T, Object> value) {
+    }
+}
@@ -0,0 +1,86 @@
+package org.stnhh.everydaydo.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.stereotype.Component;
+import org.stnhh.everydaydo.config.HolidayCalendarCacheProperties;
+import org.stnhh.everydaydo.mapper.HolidayCalendarMapper;
+import org.stnhh.everydaydo.model.dto.holiday.HolidayDayResponse;
+import org.stnhh.everydaydo.model.entity.HolidayCalendarEntity;
+
+// Writes refresh this node right away; other replicas pick them up once their entry expires.
+@Component
+public class HolidayCalendarCache {
+
+    private final HolidayCalendarMapper holidayCalendarMapper;
+    private final Cache<Integer, YearCalendar> years;
+
+    public HolidayCalendarCache(HolidayCalendarMapper holidayCalendarMapper, HolidayCalendarCacheProperties properties) {
+        this.holidayCalendarMapper = holidayCalendarMapper;
+        this.years = Caffeine.newBuilder()
+                .expireAfterWrite(properties.expireAfterWrite())
+                .build();
+    }
+
+    public boolean isHoliday(LocalDate date) {
+        return year(date.getYear()).holidays().get(date.getDayOfYear() - 1);
+    }
+
+    public HolidayDayResponse day(LocalDate date) {
+        YearCalendar calendar = year(date.getYear());
+        int index = date.getDayOfYear() - 1;
+        boolean holiday = calendar.holidays().get(index);
+        if (calendar.overrides().get(index)) {
+            return new HolidayDayResponse(date, holiday, calendar.names().get(index), true);
+        }
+        return new HolidayDayResponse(date, holiday, null, false);
+    }
+
+    public void refresh(int year) {
+        years.put(year, load(year));
+    }
+
+    private YearCalendar year(int year) {
+        return years.get(year, this::load);
+    }
+
+    private YearCalendar load(int year) {
+        LocalDate first = LocalDate.ofYearDay(year, 1);
+        LocalDate next = first.plusYears(1);
+
+        BitSet holidays = new BitSet(366);
+        for (LocalDate date = first; date.isBefore(next); date = date.plusDays(1)) {
+            if (isWeekend(date)) {
+                holidays.set(date.getDayOfYear() - 1);
+            }
+        }
+
+        BitSet overrides = new BitSet(366);
+        Map<Integer, String> names = new HashMap<>();
+        for (HolidayCalendarEntity day : holidayCalendarMapper.selectList(new LambdaQueryWrapper<HolidayCalendarEntity>()
+                .ge(HolidayCalendarEntity::getHolidayDate, first)
+                .lt(HolidayCalendarEntity::getHolidayDate, next))) {
+            int index = day.getHolidayDate().getDayOfYear() - 1;
+            overrides.set(index);
+            holidays.set(index, Boolean.TRUE.equals(day.getIsHoliday()));
+            if (day.getName() != null) {
+                names.put(index, day.getName());
+            }
+        }
+        return new YearCalendar(holidays, overrides, names);
+    }
+
+    private boolean isWeekend(LocalDate date) {
+        DayOfWeek dayOfWeek = date.getDayOfWeek();
+        return dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY;
+    }
+
+    private record YearCalendar(BitSet holidays, BitSet overrides, Map<Integer, String> names) {
+    }
+}
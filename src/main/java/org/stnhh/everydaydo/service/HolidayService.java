@@ -1,14 +1,13 @@
 package org.stnhh.everydaydo.service;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
-import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.stnhh.everydaydo.model.dto.holiday.HolidayDayResponse;
 import org.stnhh.everydaydo.model.dto.holiday.UpsertHolidayRequest;
 import org.stnhh.everydaydo.mapper.HolidayCalendarMapper;
@@ -19,14 +18,10 @@ import org.stnhh.everydaydo.model.entity.HolidayCalendarEntity;
 public class HolidayService {
 
     private final HolidayCalendarMapper holidayCalendarMapper;
+    private final HolidayCalendarCache holidayCalendarCache;
 
     public boolean isHoliday(LocalDate date) {
-        HolidayCalendarEntity day = holidayCalendarMapper.selectOne(new LambdaQueryWrapper<HolidayCalendarEntity>()
-                .eq(HolidayCalendarEntity::getHolidayDate, date));
-        if (day != null) {
-            return Boolean.TRUE.equals(day.getIsHoliday());
-        }
-        return isWeekend(date);
+        return holidayCalendarCache.isHoliday(date);
     }
 
     public boolean isWorkday(LocalDate date) {
@@ -38,29 +33,8 @@ public class HolidayService {
             throw new IllegalArgumentException("from cannot be later than to");
         }
 
-        List<HolidayCalendarEntity> overrides = holidayCalendarMapper.selectList(new LambdaQueryWrapper<HolidayCalendarEntity>()
-                .ge(HolidayCalendarEntity::getHolidayDate, from)
-                .le(HolidayCalendarEntity::getHolidayDate, to)
-                .orderByAsc(HolidayCalendarEntity::getHolidayDate));
-
-        Map<LocalDate, HolidayCalendarEntity> overrideMap = new HashMap<>();
-        for (HolidayCalendarEntity day : overrides) {
-            overrideMap.put(day.getHolidayDate(), day);
-        }
-
         return from.datesUntil(to.plusDays(1))
-                .map(date -> {
-                    HolidayCalendarEntity override = overrideMap.get(date);
-                    if (override != null) {
-                        return new HolidayDayResponse(
-                                date,
-                                Boolean.TRUE.equals(override.getIsHoliday()),
-                                override.getName(),
-                                true
-                        );
-                    }
-                    return new HolidayDayResponse(date, isWeekend(date), null, false);
-                })
+                .map(holidayCalendarCache::day)
                 .toList();
     }
 
@@ -80,6 +54,7 @@ public class HolidayService {
             entity.setName(request.name());
             holidayCalendarMapper.updateById(entity);
         }
+        refreshCalendarAfterCommit(entity.getHolidayDate().getYear());
 
         return new HolidayDayResponse(
                 entity.getHolidayDate(),
@@ -93,10 +68,19 @@ public class HolidayService {
     public void delete(LocalDate holidayDate) {
         holidayCalendarMapper.delete(new LambdaQueryWrapper<HolidayCalendarEntity>()
                 .eq(HolidayCalendarEntity::getHolidayDate, holidayDate));
+        refreshCalendarAfterCommit(holidayDate.getYear());
     }
 
-    private boolean isWeekend(LocalDate date) {
-        DayOfWeek dayOfWeek = date.getDayOfWeek();
-        return dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY;
+    private void refreshCalendarAfterCommit(int year) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            holidayCalendarCache.refresh(year);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                holidayCalendarCache.refresh(year);
+            }
+        });
     }
 }
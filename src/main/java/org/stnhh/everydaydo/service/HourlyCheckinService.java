@@ -1,11 +1,24 @@
 package org.stnhh.everydaydo.service;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -13,8 +26,10 @@ import org.springframework.util.StringUtils;
 import org.stnhh.everydaydo.mapper.CompletionLogMapper;
 import org.stnhh.everydaydo.mapper.TaskInstanceMapper;
 import org.stnhh.everydaydo.mapper.TimeWindowCheckinMapper;
+import org.stnhh.everydaydo.model.dto.checkin.BatchCheckinSyncResponse;
 import org.stnhh.everydaydo.model.dto.checkin.CheckinRecordRequest;
 import org.stnhh.everydaydo.model.dto.checkin.CheckinRecordResponse;
+import org.stnhh.everydaydo.model.dto.checkin.CheckinSyncResult;
 import org.stnhh.everydaydo.model.dto.checkin.HourlyCheckinResponse;
 import org.stnhh.everydaydo.model.dto.checkin.PendingWindowCheckinResponse;
 import org.stnhh.everydaydo.model.dto.checkin.SubmitHourlyCheckinRequest;
@@ -23,16 +38,25 @@ import org.stnhh.everydaydo.model.dto.task.TaskInstanceResponse;
 import org.stnhh.everydaydo.model.entity.CompletionLogEntity;
 import org.stnhh.everydaydo.model.entity.TaskInstanceEntity;
 import org.stnhh.everydaydo.model.entity.TimeWindowCheckinEntity;
+import org.stnhh.everydaydo.model.enums.CheckinSyncStatus;
 import org.stnhh.everydaydo.model.enums.TaskStatus;
 
 @Service
 @RequiredArgsConstructor
 public class HourlyCheckinService {
 
+    private static final Comparator<TaskInstanceEntity> PLANNED_ORDER = Comparator
+            .comparing(TaskInstanceEntity::getPlanDate)
+            .thenComparing(TaskInstanceEntity::getPlannedStartTime, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(TaskInstanceEntity::getId, Comparator.reverseOrder());
+
     private final TimeWindowCheckinMapper timeWindowCheckinMapper;
     private final CompletionLogMapper completionLogMapper;
     private final TaskInstanceMapper taskInstanceMapper;
     private final TaskInstanceService taskInstanceService;
+    private final DayVersionService dayVersionService;
+    private final CheckinLoader checkinLoader;
+    private final CheckinPromptCache checkinPromptCache;
 
     @Transactional
     public HourlyCheckinResponse submit(Long userId, SubmitHourlyCheckinRequest request) {
@@ -57,6 +81,8 @@ public class HourlyCheckinService {
                 checkin.getWindowStart().toLocalDate(),
                 request.records()
         );
+        dayVersionService.markCheckinsChanged(userId, checkin.getWindowStart().toLocalDate());
+        checkinPromptCache.markSubmittedAfterCommit(userId, checkin.getWindowStart(), checkin.getWindowEnd(), true);
 
         return new HourlyCheckinResponse(
                 checkin.getId(),
@@ -67,31 +93,168 @@ public class HourlyCheckinService {
         );
     }
 
+    @Transactional
+    public BatchCheckinSyncResponse submitBatch(Long userId, List<SubmitHourlyCheckinRequest> requests) {
+        CheckinSyncResult[] results = new CheckinSyncResult[requests.size()];
+        Map<Integer, SubmitHourlyCheckinRequest> candidates = new LinkedHashMap<>();
+        Set<List<LocalDateTime>> seenWindows = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            SubmitHourlyCheckinRequest request = requests.get(i);
+            String error = null;
+            if (!request.windowStart().isBefore(request.windowEnd())) {
+                error = "windowStart must be before windowEnd";
+            } else {
+                try {
+                    validateRecords(request.records());
+                } catch (IllegalArgumentException e) {
+                    error = e.getMessage();
+                }
+            }
+            if (error != null) {
+                results[i] = syncResult(i, request, CheckinSyncStatus.REJECTED, error, null);
+            } else if (!seenWindows.add(List.of(request.windowStart(), request.windowEnd()))) {
+                results[i] = syncResult(i, request, CheckinSyncStatus.DUPLICATE, "This time window appears earlier in the batch", null);
+            } else {
+                candidates.put(i, request);
+            }
+        }
+
+        if (!candidates.isEmpty()) {
+            Set<List<LocalDateTime>> submittedWindows = timeWindowCheckinMapper.selectList(new LambdaQueryWrapper<TimeWindowCheckinEntity>()
+                            .select(TimeWindowCheckinEntity::getWindowStart, TimeWindowCheckinEntity::getWindowEnd)
+                            .eq(TimeWindowCheckinEntity::getUserId, userId)
+                            .in(TimeWindowCheckinEntity::getWindowStart,
+                                    candidates.values().stream().map(SubmitHourlyCheckinRequest::windowStart).distinct().toList()))
+                    .stream()
+                    .map(checkin -> List.of(checkin.getWindowStart(), checkin.getWindowEnd()))
+                    .collect(Collectors.toSet());
+            candidates.entrySet().removeIf(entry -> {
+                SubmitHourlyCheckinRequest request = entry.getValue();
+                if (!submittedWindows.contains(List.of(request.windowStart(), request.windowEnd()))) {
+                    return false;
+                }
+                results[entry.getKey()] = syncResult(entry.getKey(), request, CheckinSyncStatus.DUPLICATE,
+                        "This time window is already submitted", null);
+                return true;
+            });
+
+            // Resolved only for windows that will be written, so duplicates never materialize virtual tasks.
+            Map<Long, Long> resolvedIds = taskInstanceService.resolveOwnedTaskIds(userId, candidates.values().stream()
+                    .flatMap(request -> request.records().stream())
+                    .map(CheckinRecordRequest::taskInstanceId)
+                    .filter(Objects::nonNull)
+                    .toList());
+            candidates.entrySet().removeIf(entry -> {
+                SubmitHourlyCheckinRequest request = entry.getValue();
+                if (request.records().stream().allMatch(record ->
+                        record.taskInstanceId() == null || resolvedIds.containsKey(record.taskInstanceId()))) {
+                    return false;
+                }
+                results[entry.getKey()] = syncResult(entry.getKey(), request, CheckinSyncStatus.REJECTED,
+                        "Task instance not found", null);
+                return true;
+            });
+
+            List<HourlyCheckinResponse> submitted = submitAll(userId, List.copyOf(candidates.values()), resolvedIds);
+            Iterator<HourlyCheckinResponse> responses = submitted.iterator();
+            candidates.forEach((index, request) ->
+                    results[index] = syncResult(index, request, CheckinSyncStatus.SUBMITTED, null, responses.next()));
+        }
+
+        List<CheckinSyncResult> resultList = List.of(results);
+        return new BatchCheckinSyncResponse(
+                count(resultList, CheckinSyncStatus.SUBMITTED),
+                count(resultList, CheckinSyncStatus.DUPLICATE),
+                count(resultList, CheckinSyncStatus.REJECTED),
+                resultList
+        );
+    }
+
     @Transactional
     public HourlyCheckinResponse update(Long userId, Long checkinId, UpdateHourlyCheckinRequest request) {
         TimeWindowCheckinEntity checkin = requireOwnedCheckin(userId, checkinId);
+        validateRecords(request.records());
 
         List<CompletionLogEntity> oldLogs = completionLogMapper.selectList(
                 new LambdaQueryWrapper<CompletionLogEntity>()
                         .eq(CompletionLogEntity::getCheckinId, checkin.getId())
+                        .orderByAsc(CompletionLogEntity::getId)
         );
+        Map<Long, Deque<CompletionLogEntity>> unmatchedByTask = new HashMap<>();
+        Map<Long, Integer> minuteDeltas = new LinkedHashMap<>();
         for (CompletionLogEntity oldLog : oldLogs) {
+            unmatchedByTask.computeIfAbsent(oldLog.getTaskInstanceId(), key -> new ArrayDeque<>()).add(oldLog);
             if (oldLog.getTaskInstanceId() != null && oldLog.getAddedMinutes() != null && oldLog.getAddedMinutes() > 0) {
-                taskInstanceService.adjustCompletionMinutes(userId, oldLog.getTaskInstanceId(), -oldLog.getAddedMinutes());
+                minuteDeltas.merge(oldLog.getTaskInstanceId(), -oldLog.getAddedMinutes(), Integer::sum);
             }
         }
-        completionLogMapper.delete(new LambdaQueryWrapper<CompletionLogEntity>()
-                .eq(CompletionLogEntity::getCheckinId, checkin.getId()));
 
-        checkin.setOverallComment(request.overallComment());
-        timeWindowCheckinMapper.updateById(checkin);
+        LocalDate planDate = checkin.getWindowStart().toLocalDate();
+        Iterator<TaskInstanceEntity> adHocTasks = taskInstanceService
+                .createAdHocFromCheckin(userId, planDate, request.records().stream()
+                        .filter(record -> record.taskInstanceId() == null)
+                        .toList())
+                .iterator();
+        List<CompletionLogEntity> newLogs = new ArrayList<>();
+        List<CheckinRecordResponse> records = new ArrayList<>();
+        for (CheckinRecordRequest record : request.records()) {
+            Long taskInstanceId = record.taskInstanceId();
+            boolean createdAsAdHoc = false;
+            if (taskInstanceId == null) {
+                taskInstanceId = adHocTasks.next().getId();
+                createdAsAdHoc = true;
+            } else if (VirtualTaskId.isVirtual(taskInstanceId)) {
+                // Lazy-materialized occurrence: materializing it is the only way to get a row to log against.
+                taskInstanceId = taskInstanceService.addCompletionMinutes(userId, taskInstanceId, record.completedMinutes());
+            } else {
+                minuteDeltas.merge(taskInstanceId, record.completedMinutes(), Integer::sum);
+            }
 
-        List<CheckinRecordResponse> records = createLogsAndApplyMinutes(
-                userId,
-                checkin.getId(),
-                checkin.getWindowStart().toLocalDate(),
-                request.records()
-        );
+            Deque<CompletionLogEntity> candidates = unmatchedByTask.get(taskInstanceId);
+            CompletionLogEntity log = candidates == null ? null : candidates.poll();
+            if (log == null) {
+                newLogs.add(newLog(checkin.getId(), userId, taskInstanceId, record));
+            } else if (!Objects.equals(log.getAddedMinutes(), record.completedMinutes())
+                    || !Objects.equals(log.getComment(), record.comment())
+                    || !Objects.equals(log.getReferenceLink(), record.referenceLink())) {
+                log.setAddedMinutes(record.completedMinutes());
+                log.setComment(record.comment());
+                log.setReferenceLink(record.referenceLink());
+                completionLogMapper.update(null, new LambdaUpdateWrapper<CompletionLogEntity>()
+                        .set(CompletionLogEntity::getAddedMinutes, log.getAddedMinutes())
+                        .set(CompletionLogEntity::getComment, log.getComment())
+                        .set(CompletionLogEntity::getReferenceLink, log.getReferenceLink())
+                        .eq(CompletionLogEntity::getId, log.getId()));
+            }
+
+            records.add(new CheckinRecordResponse(
+                    taskInstanceId,
+                    record.completedMinutes(),
+                    record.comment(),
+                    record.referenceLink(),
+                    createdAsAdHoc
+            ));
+        }
+
+        if (!newLogs.isEmpty()) {
+            completionLogMapper.insertAll(newLogs);
+        }
+        List<Long> removedLogIds = unmatchedByTask.values().stream()
+                .flatMap(Deque::stream)
+                .map(CompletionLogEntity::getId)
+                .toList();
+        if (!removedLogIds.isEmpty()) {
+            completionLogMapper.deleteBatchIds(removedLogIds);
+        }
+        taskInstanceService.adjustCompletionMinutes(userId, minuteDeltas);
+
+        if (!Objects.equals(checkin.getOverallComment(), request.overallComment())) {
+            checkin.setOverallComment(request.overallComment());
+            timeWindowCheckinMapper.update(null, new LambdaUpdateWrapper<TimeWindowCheckinEntity>()
+                    .set(TimeWindowCheckinEntity::getOverallComment, checkin.getOverallComment())
+                    .eq(TimeWindowCheckinEntity::getId, checkin.getId()));
+        }
+        dayVersionService.markCheckinsChanged(userId, planDate);
 
         return new HourlyCheckinResponse(
                 checkin.getId(),
@@ -109,14 +272,18 @@ public class HourlyCheckinService {
                 new LambdaQueryWrapper<CompletionLogEntity>()
                         .eq(CompletionLogEntity::getCheckinId, checkin.getId())
         );
+        Map<Long, Integer> minuteDeltas = new HashMap<>();
         for (CompletionLogEntity log : logs) {
             if (log.getTaskInstanceId() != null && log.getAddedMinutes() != null && log.getAddedMinutes() > 0) {
-                taskInstanceService.adjustCompletionMinutes(userId, log.getTaskInstanceId(), -log.getAddedMinutes());
+                minuteDeltas.merge(log.getTaskInstanceId(), -log.getAddedMinutes(), Integer::sum);
             }
         }
+        taskInstanceService.adjustCompletionMinutes(userId, minuteDeltas);
         completionLogMapper.delete(new LambdaQueryWrapper<CompletionLogEntity>()
                 .eq(CompletionLogEntity::getCheckinId, checkin.getId()));
         timeWindowCheckinMapper.deleteById(checkin.getId());
+        dayVersionService.markCheckinsChanged(userId, checkin.getWindowStart().toLocalDate());
+        checkinPromptCache.markSubmittedAfterCommit(userId, checkin.getWindowStart(), checkin.getWindowEnd(), false);
     }
 
     public List<HourlyCheckinResponse> listByDate(Long userId, LocalDate date) {
@@ -131,30 +298,7 @@ public class HourlyCheckinService {
                         .orderByDesc(TimeWindowCheckinEntity::getWindowStart)
         );
 
-        return checkins.stream().map(checkin -> {
-            List<CheckinRecordResponse> records = completionLogMapper.selectList(
-                            new LambdaQueryWrapper<CompletionLogEntity>()
-                                    .eq(CompletionLogEntity::getCheckinId, checkin.getId())
-                                    .orderByAsc(CompletionLogEntity::getId)
-                    )
-                    .stream()
-                    .map(log -> new CheckinRecordResponse(
-                            log.getTaskInstanceId(),
-                            log.getAddedMinutes(),
-                            log.getComment(),
-                            log.getReferenceLink(),
-                            false
-                    ))
-                    .toList();
-
-            return new HourlyCheckinResponse(
-                    checkin.getId(),
-                    checkin.getWindowStart(),
-                    checkin.getWindowEnd(),
-                    checkin.getOverallComment(),
-                    records
-            );
-        }).toList();
+        return checkinLoader.hydrate(checkins);
     }
 
     public List<TaskInstanceEntity> listWindowPlannedTasks(Long userId, LocalDateTime windowStart, LocalDateTime windowEnd) {
@@ -162,22 +306,24 @@ public class HourlyCheckinService {
             throw new IllegalArgumentException("windowStart must be before windowEnd");
         }
 
-        return taskInstanceMapper.selectList(new LambdaQueryWrapper<TaskInstanceEntity>()
-                        .eq(TaskInstanceEntity::getUserId, userId)
-                        .between(TaskInstanceEntity::getPlanDate, windowStart.toLocalDate(), windowEnd.toLocalDate())
-                        .ne(TaskInstanceEntity::getStatus, TaskStatus.CANCELLED)
-                        .orderByAsc(TaskInstanceEntity::getPlanDate)
-                        .orderByAsc(TaskInstanceEntity::getPlannedStartTime)
-                        .orderByDesc(TaskInstanceEntity::getId))
-                .stream()
-                .filter(task -> {
-                    if (task.getPlannedStartTime() == null) {
-                        return task.getPlanDate().equals(windowStart.toLocalDate());
-                    }
-                    LocalDateTime plannedAt = LocalDateTime.of(task.getPlanDate(), task.getPlannedStartTime());
-                    return (!plannedAt.isBefore(windowStart)) && plannedAt.isBefore(windowEnd);
-                })
-                .toList();
+        taskInstanceService.materializeDueOccurrences(userId, windowStart.toLocalDate(), windowEnd.toLocalDate());
+        // planned_start_at is the generated plan_date + planned_start_time column; untimed tasks belong to the start day.
+        List<TaskInstanceEntity> tasks = new ArrayList<>(taskInstanceMapper.selectList(new LambdaQueryWrapper<TaskInstanceEntity>()
+                .eq(TaskInstanceEntity::getUserId, userId)
+                .ne(TaskInstanceEntity::getStatus, TaskStatus.CANCELLED)
+                .and(w -> w
+                        .apply("planned_start_at >= {0} AND planned_start_at < {1}", windowStart, windowEnd)
+                        .or(x -> x.isNull(TaskInstanceEntity::getPlannedStartTime)
+                                .eq(TaskInstanceEntity::getPlanDate, windowStart.toLocalDate())))));
+        // Today's lazy occurrences stay virtual: this is polled, and polling must not write.
+        for (TaskInstanceEntity task : taskInstanceService.listProjectedOccurrences(
+                userId, windowStart.toLocalDate(), windowEnd.toLocalDate())) {
+            if (isPlannedInWindow(task.getPlanDate(), task.getPlannedStartTime(), windowStart, windowEnd)) {
+                tasks.add(task);
+            }
+        }
+        tasks.sort(PLANNED_ORDER);
+        return tasks;
     }
 
     public List<TaskInstanceResponse> listWindowPlannedTaskResponses(Long userId, LocalDateTime windowStart, LocalDateTime windowEnd) {
@@ -197,9 +343,16 @@ public class HourlyCheckinService {
         LocalDateTime windowEnd = currentWindowStart;
         LocalDateTime windowStart = currentWindowStart.minusMinutes(windowMinutes);
 
-        boolean submitted = hasSubmitted(userId, windowStart, windowEnd);
-        List<TaskInstanceResponse> plannedTasks = listWindowPlannedTasks(userId, windowStart, windowEnd)
-                .stream().map(this::toTaskResponse).toList();
+        // Polled on every client tick, so both halves are answered from node-local caches.
+        boolean submitted = checkinPromptCache.isSubmitted(userId, windowStart, windowEnd,
+                () -> listCheckinsByDate(userId, windowStart.toLocalDate()));
+        List<TaskInstanceResponse> plannedTasks = new ArrayList<>();
+        for (LocalDate date = windowStart.toLocalDate(); !date.isAfter(windowEnd.toLocalDate()); date = date.plusDays(1)) {
+            LocalDate planDate = date;
+            checkinPromptCache.plannedTasks(userId, planDate, () -> listActiveTasksByDate(userId, planDate)).stream()
+                    .filter(task -> isPlannedInWindow(task.planDate(), task.plannedStartTime(), windowStart, windowEnd))
+                    .forEach(plannedTasks::add);
+        }
 
         String prompt = "请回顾上个时间窗口完成情况，可补充完成时长、评论和参考链接。";
         return new PendingWindowCheckinResponse(
@@ -220,6 +373,33 @@ public class HourlyCheckinService {
         return count != null && count > 0;
     }
 
+    private List<TimeWindowCheckinEntity> listCheckinsByDate(Long userId, LocalDate date) {
+        return timeWindowCheckinMapper.selectList(new LambdaQueryWrapper<TimeWindowCheckinEntity>()
+                .select(TimeWindowCheckinEntity::getWindowStart, TimeWindowCheckinEntity::getWindowEnd)
+                .eq(TimeWindowCheckinEntity::getUserId, userId)
+                .ge(TimeWindowCheckinEntity::getWindowStart, date.atStartOfDay())
+                .lt(TimeWindowCheckinEntity::getWindowStart, date.plusDays(1).atStartOfDay()));
+    }
+
+    private List<TaskInstanceResponse> listActiveTasksByDate(Long userId, LocalDate date) {
+        taskInstanceService.materializeDueOccurrences(userId, date, date);
+        List<TaskInstanceEntity> tasks = new ArrayList<>(taskInstanceMapper.selectList(new LambdaQueryWrapper<TaskInstanceEntity>()
+                .eq(TaskInstanceEntity::getUserId, userId)
+                .eq(TaskInstanceEntity::getPlanDate, date)
+                .ne(TaskInstanceEntity::getStatus, TaskStatus.CANCELLED)));
+        tasks.addAll(taskInstanceService.listProjectedOccurrences(userId, date, date));
+        tasks.sort(PLANNED_ORDER);
+        return tasks.stream().map(this::toTaskResponse).toList();
+    }
+
+    private boolean isPlannedInWindow(LocalDate planDate, LocalTime plannedStartTime, LocalDateTime windowStart, LocalDateTime windowEnd) {
+        if (plannedStartTime == null) {
+            return planDate.equals(windowStart.toLocalDate());
+        }
+        LocalDateTime plannedAt = LocalDateTime.of(planDate, plannedStartTime);
+        return (!plannedAt.isBefore(windowStart)) && plannedAt.isBefore(windowEnd);
+    }
+
     private TimeWindowCheckinEntity requireOwnedCheckin(Long userId, Long checkinId) {
         TimeWindowCheckinEntity checkin = timeWindowCheckinMapper.selectOne(new LambdaQueryWrapper<TimeWindowCheckinEntity>()
                 .eq(TimeWindowCheckinEntity::getId, checkinId)
@@ -236,40 +416,28 @@ public class HourlyCheckinService {
             LocalDate planDate,
             List<CheckinRecordRequest> records
     ) {
-        List<CheckinRecordResponse> recordResponses = new ArrayList<>();
-        for (CheckinRecordRequest record : records) {
-            if (record.completedMinutes() == null || record.completedMinutes() <= 0) {
-                throw new IllegalArgumentException("completedMinutes must be greater than 0");
-            }
+        validateRecords(records);
 
-            Long taskInstanceId;
-            boolean createdAsAdHoc = false;
+        Map<Long, Integer> minutesByTask = new HashMap<>();
+        List<CheckinRecordRequest> adHocRecords = new ArrayList<>();
+        for (CheckinRecordRequest record : records) {
             if (record.taskInstanceId() != null) {
-                taskInstanceId = taskInstanceService.addCompletionMinutes(userId, record.taskInstanceId(), record.completedMinutes());
+                minutesByTask.merge(record.taskInstanceId(), record.completedMinutes(), Integer::sum);
             } else {
-                if (!StringUtils.hasText(record.title())) {
-                    throw new IllegalArgumentException("title is required when taskInstanceId is missing");
-                }
-                TaskInstanceEntity adHoc = taskInstanceService.createAdHocFromCheckin(
-                        userId,
-                        record.title().trim(),
-                        planDate,
-                        record.completedMinutes()
-                );
-                taskInstanceId = adHoc.getId();
-                createdAsAdHoc = true;
+                adHocRecords.add(record);
             }
+        }
+        Map<Long, Long> resolvedIds = taskInstanceService.adjustCompletionMinutes(userId, minutesByTask);
+        Iterator<TaskInstanceEntity> adHocTasks = taskInstanceService
+                .createAdHocFromCheckin(userId, planDate, adHocRecords)
+                .iterator();
 
-            CompletionLogEntity log = new CompletionLogEntity();
-            log.setCheckinId(checkinId);
-            log.setUserId(userId);
-            log.setTaskInstanceId(taskInstanceId);
-            log.setAddedMinutes(record.completedMinutes());
-            log.setComment(record.comment());
-            log.setReferenceLink(record.referenceLink());
-            log.setCreatedAt(LocalDateTime.now());
-            completionLogMapper.insert(log);
-
+        List<CompletionLogEntity> logs = new ArrayList<>();
+        List<CheckinRecordResponse> recordResponses = new ArrayList<>();
+        for (CheckinRecordRequest record : records) {
+            boolean createdAsAdHoc = record.taskInstanceId() == null;
+            Long taskInstanceId = createdAsAdHoc ? adHocTasks.next().getId() : resolvedIds.get(record.taskInstanceId());
+            logs.add(newLog(checkinId, userId, taskInstanceId, record));
             recordResponses.add(new CheckinRecordResponse(
                     taskInstanceId,
                     record.completedMinutes(),
@@ -278,9 +446,121 @@ public class HourlyCheckinService {
                     createdAsAdHoc
             ));
         }
+        completionLogMapper.insertAll(logs);
         return recordResponses;
     }
 
+    private List<HourlyCheckinResponse> submitAll(
+            Long userId,
+            List<SubmitHourlyCheckinRequest> requests,
+            Map<Long, Long> resolvedIds
+    ) {
+        if (requests.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<TimeWindowCheckinEntity> checkins = new ArrayList<>();
+        Map<Long, Integer> minutesByTask = new HashMap<>();
+        Map<LocalDate, List<CheckinRecordRequest>> adHocRecordsByDate = new LinkedHashMap<>();
+        for (SubmitHourlyCheckinRequest request : requests) {
+            TimeWindowCheckinEntity checkin = new TimeWindowCheckinEntity();
+            checkin.setUserId(userId);
+            checkin.setWindowStart(request.windowStart());
+            checkin.setWindowEnd(request.windowEnd());
+            checkin.setOverallComment(request.overallComment());
+            checkin.setCreatedAt(now);
+            checkins.add(checkin);
+
+            for (CheckinRecordRequest record : request.records()) {
+                if (record.taskInstanceId() != null) {
+                    minutesByTask.merge(resolvedIds.get(record.taskInstanceId()), record.completedMinutes(), Integer::sum);
+                } else {
+                    adHocRecordsByDate.computeIfAbsent(request.windowStart().toLocalDate(), key -> new ArrayList<>()).add(record);
+                }
+            }
+        }
+        timeWindowCheckinMapper.insertAll(checkins);
+        taskInstanceService.adjustCompletionMinutes(userId, minutesByTask);
+        Map<LocalDate, Iterator<TaskInstanceEntity>> adHocTasksByDate = new HashMap<>();
+        adHocRecordsByDate.forEach((planDate, records) -> adHocTasksByDate.put(
+                planDate,
+                taskInstanceService.createAdHocFromCheckin(userId, planDate, records).iterator()
+        ));
+
+        List<CompletionLogEntity> logs = new ArrayList<>();
+        List<HourlyCheckinResponse> responses = new ArrayList<>();
+        for (TimeWindowCheckinEntity checkin : checkins) {
+            SubmitHourlyCheckinRequest request = requests.get(responses.size());
+            List<CheckinRecordResponse> recordResponses = new ArrayList<>();
+            for (CheckinRecordRequest record : request.records()) {
+                boolean createdAsAdHoc = record.taskInstanceId() == null;
+                Long taskInstanceId = createdAsAdHoc
+                        ? adHocTasksByDate.get(checkin.getWindowStart().toLocalDate()).next().getId()
+                        : resolvedIds.get(record.taskInstanceId());
+                logs.add(newLog(checkin.getId(), userId, taskInstanceId, record));
+                recordResponses.add(new CheckinRecordResponse(
+                        taskInstanceId,
+                        record.completedMinutes(),
+                        record.comment(),
+                        record.referenceLink(),
+                        createdAsAdHoc
+                ));
+            }
+            responses.add(new HourlyCheckinResponse(
+                    checkin.getId(),
+                    checkin.getWindowStart(),
+                    checkin.getWindowEnd(),
+                    checkin.getOverallComment(),
+                    recordResponses
+            ));
+            checkinPromptCache.markSubmittedAfterCommit(userId, checkin.getWindowStart(), checkin.getWindowEnd(), true);
+        }
+        completionLogMapper.insertAll(logs);
+        checkins.stream()
+                .map(checkin -> checkin.getWindowStart().toLocalDate())
+                .distinct()
+                .forEach(planDate -> dayVersionService.markCheckinsChanged(userId, planDate));
+        return responses;
+    }
+
+    private CheckinSyncResult syncResult(
+            int index,
+            SubmitHourlyCheckinRequest request,
+            CheckinSyncStatus status,
+            String message,
+            HourlyCheckinResponse checkin
+    ) {
+        return new CheckinSyncResult(index, request.windowStart(), request.windowEnd(), status, message, checkin);
+    }
+
+    private int count(List<CheckinSyncResult> results, CheckinSyncStatus status) {
+        return (int) results.stream().filter(result -> result.status() == status).count();
+    }
+
+    private void validateRecords(List<CheckinRecordRequest> records) {
+        for (CheckinRecordRequest record : records) {
+            if (record.completedMinutes() == null || record.completedMinutes() <= 0) {
+                throw new IllegalArgumentException("completedMinutes must be greater than 0");
+            }
+            if (record.taskInstanceId() == null && !StringUtils.hasText(record.title())) {
+                throw new IllegalArgumentException("title is required when taskInstanceId is missing");
+            }
+        }
+    }
+
+    private CompletionLogEntity newLog(Long checkinId, Long userId, Long taskInstanceId, CheckinRecordRequest record) {
+        CompletionLogEntity log = new CompletionLogEntity();
+        log.setCheckinId(checkinId);
+        log.setUserId(userId);
+        log.setTaskInstanceId(taskInstanceId);
+        log.setAddedMinutes(record.completedMinutes());
+        log.setComment(record.comment());
+        log.setReferenceLink(record.referenceLink());
+        log.setCreatedAt(LocalDateTime.now());
+        return log;
+    }
+
     private TaskInstanceResponse toTaskResponse(TaskInstanceEntity entity) {
         return new TaskInstanceResponse(
                 entity.getId(),
@@ -0,0 +1,121 @@
+package org.stnhh.everydaydo.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.stnhh.everydaydo.config.IdempotencyProperties;
+import org.stnhh.everydaydo.mapper.IdempotencyRecordMapper;
+import org.stnhh.everydaydo.model.entity.IdempotencyRecordEntity;
+
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 128;
+
+    private final IdempotencyRecordMapper idempotencyRecordMapper;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+
+    public IdempotencyService(
+            IdempotencyRecordMapper idempotencyRecordMapper,
+            ObjectMapper objectMapper,
+            IdempotencyProperties idempotencyProperties,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.idempotencyRecordMapper = idempotencyRecordMapper;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = idempotencyProperties.ttl();
+    }
+
+    public <T> T execute(
+            Long userId,
+            String key,
+            String operation,
+            Object request,
+            Class<T> responseType,
+            Supplier<T> action
+    ) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String requestHash = hash(operation, request);
+        IdempotencyRecordEntity record = idempotencyRecordMapper.findLive(userId, key, LocalDateTime.now());
+        if (record != null) {
+            return replay(record, requestHash, responseType);
+        }
+
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            // A concurrent holder of the same key blocks this insert until it commits; the loser then replays its result.
+            if (idempotencyRecordMapper.claim(userId, key, requestHash, now, now.plus(ttl)) == 0) {
+                return replay(idempotencyRecordMapper.findLive(userId, key, now), requestHash, responseType);
+            }
+            T response = action.get();
+            idempotencyRecordMapper.complete(userId, key, toJson(response));
+            return response;
+        });
+    }
+
+    @Scheduled(
+            fixedDelayString = "${app.idempotency.purge-interval-ms:3600000}",
+            initialDelayString = "${app.idempotency.purge-interval-ms:3600000}"
+    )
+    public void purgeExpired() {
+        int purged = idempotencyRecordMapper.purgeExpired(LocalDateTime.now());
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency records", purged);
+        }
+    }
+
+    private <T> T replay(IdempotencyRecordEntity record, String requestHash, Class<T> responseType) {
+        if (record == null || record.getResponseBody() == null) {
+            throw new IllegalArgumentException("A request with this Idempotency-Key is still in progress");
+        }
+        if (!record.getRequestHash().equals(requestHash)) {
+            throw new IllegalArgumentException("Idempotency-Key was already used for a different request");
+        }
+        try {
+            return objectMapper.readValue(record.getResponseBody(), responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Stored response for this Idempotency-Key can no longer be read", e);
+        }
+    }
+
+    private String hash(String operation, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalArgumentException("Request cannot be fingerprinted", e);
+        }
+    }
+
+    private String toJson(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Response cannot be stored for replay", e);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package org.stnhh.everydaydo.service;
+
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.stnhh.everydaydo.config.PlanProperties;
+import org.stnhh.everydaydo.mapper.PlanGenerationLeaseMapper;
+import org.stnhh.everydaydo.model.dto.plan.PlanBackfillResponse;
+import org.stnhh.everydaydo.model.dto.plan.PlanGenerationResponse;
+import org.stnhh.everydaydo.model.enums.PlanBackfillStatus;
+
+@Slf4j
+@Service
+public class PlanBackfillService {
+
+    private final PlanGenerationCoordinator planGenerationCoordinator;
+    private final PlanGenerationLeaseMapper planGenerationLeaseMapper;
+    private final PlanProperties planProperties;
+    private final ExecutorService executor;
+    private volatile PlanBackfillResponse progress = new PlanBackfillResponse(
+            PlanBackfillStatus.IDLE, List.of(), List.of(), null, 0, null, null);
+
+    public PlanBackfillService(
+            PlanGenerationCoordinator planGenerationCoordinator,
+            PlanGenerationLeaseMapper planGenerationLeaseMapper,
+            PlanProperties planProperties
+    ) {
+        this.planGenerationCoordinator = planGenerationCoordinator;
+        this.planGenerationLeaseMapper = planGenerationLeaseMapper;
+        this.planProperties = planProperties;
+        this.executor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("plan-backfill-"));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (planProperties.lazyMaterialization()) {
+            return;
+        }
+        executor.execute(() -> backfill(LocalDate.now()));
+    }
+
+    public PlanBackfillResponse progress() {
+        return progress;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void backfill(LocalDate today) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        List<LocalDate> pending = missedDates(today);
+        List<LocalDate> completed = new ArrayList<>();
+        List<LocalDate> incomplete = new ArrayList<>();
+        int generated = 0;
+        progress = new PlanBackfillResponse(
+                PlanBackfillStatus.RUNNING, List.copyOf(pending), List.of(), null, 0, startedAt, null);
+
+        try {
+            while (!pending.isEmpty()) {
+                LocalDate date = pending.get(0);
+                progress = new PlanBackfillResponse(PlanBackfillStatus.RUNNING,
+                        unfinished(incomplete, pending), List.copyOf(completed), date, generated, startedAt, null);
+
+                PlanGenerationResponse result = planGenerationCoordinator.generateClaimableShards(date);
+                generated += result.generated();
+                pending.remove(0);
+                // Shards that failed here or are still leased by another node are left to the takeover sweep.
+                if (planGenerationLeaseMapper.findCompletedDates(date, date, planProperties.shardCount()).contains(date)) {
+                    completed.add(date);
+                } else {
+                    incomplete.add(date);
+                }
+            }
+            PlanBackfillStatus status = incomplete.isEmpty() ? PlanBackfillStatus.COMPLETED : PlanBackfillStatus.PARTIAL;
+            progress = new PlanBackfillResponse(
+                    status, List.copyOf(incomplete), List.copyOf(completed), null, generated, startedAt, LocalDateTime.now());
+            if (!completed.isEmpty()) {
+                log.info("Plan backfill generated {} instances for {}", generated, completed);
+            }
+            if (!incomplete.isEmpty()) {
+                log.warn("Plan backfill left unfinished shards for {}; the lease sweep will retry them", incomplete);
+            }
+        } catch (RuntimeException e) {
+            progress = new PlanBackfillResponse(PlanBackfillStatus.FAILED,
+                    unfinished(incomplete, pending), List.copyOf(completed), null, generated, startedAt, LocalDateTime.now());
+            log.warn("Plan backfill failed", e);
+        }
+    }
+
+    private List<LocalDate> unfinished(List<LocalDate> incomplete, List<LocalDate> pending) {
+        List<LocalDate> dates = new ArrayList<>(incomplete);
+        dates.addAll(pending);
+        return List.copyOf(dates);
+    }
+
+    private List<LocalDate> missedDates(LocalDate today) {
+        LocalDate firstPlanDate = planGenerationLeaseMapper.findFirstPlanDate();
+        if (firstPlanDate == null) {
+            return new ArrayList<>(List.of(today));
+        }
+
+        LocalDate from = planGenerationCoordinator.firstSweptDate(today);
+        if (from.isBefore(firstPlanDate)) {
+            from = firstPlanDate;
+        }
+        Set<LocalDate> generated = new HashSet<>(
+                planGenerationLeaseMapper.findCompletedDates(from, today, planProperties.shardCount()));
+
+        List<LocalDate> missed = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(today); day = day.plusDays(1)) {
+            if (!generated.contains(day)) {
+                missed.add(day);
+            }
+        }
+        return missed;
+    }
+}
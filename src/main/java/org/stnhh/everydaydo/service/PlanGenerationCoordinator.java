@@ -0,0 +1,118 @@
+package org.stnhh.everydaydo.service;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.stnhh.everydaydo.config.PlanProperties;
+import org.stnhh.everydaydo.mapper.PlanGenerationLeaseMapper;
+import org.stnhh.everydaydo.model.dto.plan.PlanGenerationResponse;
+import org.stnhh.everydaydo.model.dto.plan.PlanRangeGenerationResponse;
+
+@Slf4j
+@Service
+public class PlanGenerationCoordinator {
+
+    private final PlanGenerationService planGenerationService;
+    private final PlanGenerationLeaseMapper planGenerationLeaseMapper;
+    private final PlanProperties planProperties;
+    private final String nodeId;
+
+    public PlanGenerationCoordinator(
+            PlanGenerationService planGenerationService,
+            PlanGenerationLeaseMapper planGenerationLeaseMapper,
+            PlanProperties planProperties
+    ) {
+        this.planGenerationService = planGenerationService;
+        this.planGenerationLeaseMapper = planGenerationLeaseMapper;
+        this.planProperties = planProperties;
+        this.nodeId = StringUtils.hasText(planProperties.nodeId())
+                ? planProperties.nodeId()
+                : ManagementFactory.getRuntimeMXBean().getName();
+    }
+
+    @Scheduled(cron = "0 5 0 * * *")
+    public void generateTodayPlanAtMidnight() {
+        if (planProperties.lazyMaterialization()) {
+            return;
+        }
+        generateClaimableShards(LocalDate.now());
+    }
+
+    @Scheduled(
+            fixedDelayString = "${app.plan.lease-sweep-interval-ms:60000}",
+            initialDelayString = "${app.plan.lease-sweep-interval-ms:60000}"
+    )
+    public void takeOverExpiredShards() {
+        if (planProperties.lazyMaterialization()) {
+            return;
+        }
+        // Covers the whole backfill window, so shards released or abandoned during a backfill are picked up again.
+        LocalDate today = LocalDate.now();
+        for (LocalDate date = firstSweptDate(today); !date.isAfter(today); date = date.plusDays(1)) {
+            for (Integer shard : planGenerationLeaseMapper.findExpiredShards(date, LocalDateTime.now())) {
+                generateShardIfClaimed(date, shard);
+            }
+        }
+    }
+
+    public LocalDate firstSweptDate(LocalDate today) {
+        return today.minusDays(Math.max(planProperties.backfillDays(), 1) - 1L);
+    }
+
+    public PlanGenerationResponse generateClaimableShards(LocalDate date) {
+        int shardCount = planProperties.shardCount();
+        int offset = Math.floorMod(nodeId.hashCode(), shardCount);
+        int generated = 0;
+        int skipped = 0;
+        for (int i = 0; i < shardCount; i++) {
+            PlanRangeGenerationResponse result = generateShardIfClaimed(date, (offset + i) % shardCount);
+            if (result != null) {
+                generated += result.generated();
+                skipped += result.skipped();
+            }
+        }
+        return new PlanGenerationResponse(date, generated, skipped);
+    }
+
+    private PlanRangeGenerationResponse generateShardIfClaimed(LocalDate date, int shard) {
+        LocalDateTime now = LocalDateTime.now();
+        if (planGenerationLeaseMapper.claim(date, shard, nodeId, now, now.plus(planProperties.leaseDuration())) == 0) {
+            return null;
+        }
+
+        try {
+            // Renewed after every checkpoint so a shard that outlives one lease term is not taken over mid-run.
+            PlanRangeGenerationResponse result = planGenerationService.generateShard(
+                    date,
+                    new UserShard(shard, planProperties.shardCount()),
+                    () -> renewLease(date, shard)
+            );
+            if (result.failedChunks() > 0) {
+                planGenerationLeaseMapper.release(date, shard, nodeId, LocalDateTime.now());
+                log.warn("Plan generation job {} for {} shard {} had {} failed chunks",
+                        result.jobId(), date, shard, result.failedChunks());
+                return result;
+            }
+            if (planGenerationLeaseMapper.complete(date, shard, nodeId, LocalDateTime.now(), result.generated(), result.skipped()) == 0) {
+                log.warn("Lost the plan generation lease for {} shard {} before it completed", date, shard);
+            }
+            return result;
+        } catch (RuntimeException e) {
+            planGenerationLeaseMapper.release(date, shard, nodeId, LocalDateTime.now());
+            log.warn("Plan generation failed for {} shard {}", date, shard, e);
+            return null;
+        }
+    }
+
+    private boolean renewLease(LocalDate date, int shard) {
+        if (planGenerationLeaseMapper.renew(date, shard, nodeId, LocalDateTime.now().plus(planProperties.leaseDuration())) == 1) {
+            return true;
+        }
+        log.warn("Lost the plan generation lease for {} shard {} while generating", date, shard);
+        return false;
+    }
+}
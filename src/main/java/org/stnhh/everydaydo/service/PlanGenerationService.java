@@ -1,58 +1,437 @@
 package org.stnhh.everydaydo.service;
 
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
-import lombok.RequiredArgsConstructor;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.stnhh.everydaydo.config.PlanProperties;
+import org.stnhh.everydaydo.mapper.PlanGenerationJobChunkMapper;
+import org.stnhh.everydaydo.mapper.PlanGenerationJobMapper;
+import org.stnhh.everydaydo.model.dto.plan.PlanGenerationJobChunkResponse;
+import org.stnhh.everydaydo.model.dto.plan.PlanGenerationJobResponse;
+import org.stnhh.everydaydo.model.dto.plan.PlanGenerationResponse;
+import org.stnhh.everydaydo.model.dto.plan.PlanRangeGenerationResponse;
+import org.stnhh.everydaydo.model.entity.PlanGenerationJobChunkEntity;
+import org.stnhh.everydaydo.model.entity.PlanGenerationJobEntity;
 import org.stnhh.everydaydo.model.entity.TaskTemplateEntity;
+import org.stnhh.everydaydo.model.enums.PlanGenerationJobStatus;
 
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class PlanGenerationService {
 
+    private static final int GENERATION_CHUNK_SIZE = 500;
+    private static final int USER_PARTITION_SIZE = 200;
+    private static final int MAX_HORIZON_DAYS = 90;
+    private static final int RECENT_CHUNK_LIMIT = 50;
+
     private final TaskTemplateService taskTemplateService;
     private final TaskInstanceService taskInstanceService;
     private final HolidayService holidayService;
+    private final RecurrenceMatcher recurrenceMatcher;
+    private final PlanGenerationJobMapper planGenerationJobMapper;
+    private final PlanGenerationJobChunkMapper planGenerationJobChunkMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService generationExecutor;
+    private final ExecutorService jobExecutor;
+    private final int maxPartitionsInFlight;
+    private final Duration leaseDuration;
+
+    public PlanGenerationService(
+            TaskTemplateService taskTemplateService,
+            TaskInstanceService taskInstanceService,
+            HolidayService holidayService,
+            RecurrenceMatcher recurrenceMatcher,
+            PlanGenerationJobMapper planGenerationJobMapper,
+            PlanGenerationJobChunkMapper planGenerationJobChunkMapper,
+            PlanProperties planProperties,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.taskTemplateService = taskTemplateService;
+        this.taskInstanceService = taskInstanceService;
+        this.holidayService = holidayService;
+        this.recurrenceMatcher = recurrenceMatcher;
+        this.planGenerationJobMapper = planGenerationJobMapper;
+        this.planGenerationJobChunkMapper = planGenerationJobChunkMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.generationExecutor = Executors.newFixedThreadPool(
+                planProperties.generationThreads(),
+                new CustomizableThreadFactory("plan-generation-")
+        );
+        this.jobExecutor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("plan-job-"));
+        this.maxPartitionsInFlight = planProperties.generationThreads() * 2;
+        this.leaseDuration = planProperties.leaseDuration();
+    }
+
+    public PlanGenerationResponse generateForDate(LocalDate date) {
+        PlanRangeGenerationResponse result = generateForRange(date, date);
+        return new PlanGenerationResponse(date, result.generated(), result.skipped());
+    }
+
+    public PlanRangeGenerationResponse generateForRange(LocalDate from, LocalDate to) {
+        return runJob(startOrResumeJob(from, to, null), () -> true);
+    }
 
-    @Scheduled(cron = "0 5 0 * * *")
-    public void generateTodayPlanAtMidnight() {
-        generateForDate(LocalDate.now());
+    public PlanRangeGenerationResponse generateShard(LocalDate date, UserShard shard, BooleanSupplier renewLease) {
+        return runJob(startOrResumeJob(date, date, shard), renewLease);
     }
 
-    @Transactional
-    public int generateForDate(LocalDate date) {
-        int generated = 0;
-        for (TaskTemplateEntity template : taskTemplateService.findActiveTemplatesForDate(date)) {
-            if (!matches(template, date)) {
-                continue;
+    public PlanGenerationJobResponse submitJob(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        PlanGenerationJobEntity job = createJob(from, to, null);
+        jobExecutor.execute(() -> runJob(job, () -> true));
+        return toJobResponse(job, List.of());
+    }
+
+    public PlanGenerationJobResponse getJob(Long jobId) {
+        PlanGenerationJobEntity job = planGenerationJobMapper.selectById(jobId);
+        if (job == null) {
+            throw new IllegalArgumentException("Generation job not found");
+        }
+        List<PlanGenerationJobChunkEntity> chunks = planGenerationJobChunkMapper.selectList(
+                new LambdaQueryWrapper<PlanGenerationJobChunkEntity>()
+                        .eq(PlanGenerationJobChunkEntity::getJobId, jobId)
+                        .orderByDesc(PlanGenerationJobChunkEntity::getId)
+                        .last("LIMIT " + RECENT_CHUNK_LIMIT));
+        return toJobResponse(job, chunks);
+    }
+
+    @Scheduled(
+            fixedDelayString = "${app.plan.lease-sweep-interval-ms:60000}",
+            initialDelayString = "${app.plan.lease-sweep-interval-ms:60000}"
+    )
+    public void resumeStaleJobs() {
+        List<PlanGenerationJobEntity> staleJobs = planGenerationJobMapper.selectList(
+                new LambdaQueryWrapper<PlanGenerationJobEntity>()
+                        .eq(PlanGenerationJobEntity::getStatus, PlanGenerationJobStatus.RUNNING)
+                        .isNull(PlanGenerationJobEntity::getShardIndex)
+                        .lt(PlanGenerationJobEntity::getHeartbeatAt, now().minus(leaseDuration)));
+        for (PlanGenerationJobEntity job : staleJobs) {
+            if (claimJob(job)) {
+                log.info("Resuming plan generation job {} after user {}", job.getId(), job.getCursorUserId());
+                jobExecutor.execute(() -> runJob(job, () -> true));
             }
-            taskInstanceService.createFromTemplateIfNotExists(template, date);
-            generated++;
         }
-        return generated;
     }
 
-    private boolean matches(TaskTemplateEntity template, LocalDate date) {
-        return switch (template.getRecurrenceType()) {
-            case DAILY -> true;
-            case WORKDAY -> holidayService.isWorkday(date);
-            case HOLIDAY -> holidayService.isHoliday(date);
-            case WEEKLY -> template.getDayOfWeek() != null && date.getDayOfWeek().getValue() == template.getDayOfWeek();
-            case SPECIFIC_DATE -> date.equals(template.getSpecificDate());
-            case INTERVAL_DAYS -> matchesIntervalDays(template, date);
-        };
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+        generationExecutor.shutdown();
+    }
+
+    private PlanGenerationJobEntity startOrResumeJob(LocalDate from, LocalDate to, UserShard shard) {
+        validateRange(from, to);
+
+        // A shard is only ever worked by the holder of its lease, so that holder may take over whatever
+        // job the previous owner left behind. Ad-hoc ranges have no lease and wait for a RUNNING job's heartbeat
+        // to go stale. FAILED jobs have no owner and are picked up at once: their cursor stops before the first
+        // failed chunk, so a rerun retries it.
+        LambdaQueryWrapper<PlanGenerationJobEntity> wrapper = new LambdaQueryWrapper<PlanGenerationJobEntity>()
+                .in(PlanGenerationJobEntity::getStatus, PlanGenerationJobStatus.RUNNING, PlanGenerationJobStatus.FAILED)
+                .eq(PlanGenerationJobEntity::getPlanFrom, from)
+                .eq(PlanGenerationJobEntity::getPlanTo, to);
+        if (shard == null) {
+            LocalDateTime staleBefore = now().minus(leaseDuration);
+            wrapper.isNull(PlanGenerationJobEntity::getShardIndex)
+                    .and(w -> w.eq(PlanGenerationJobEntity::getStatus, PlanGenerationJobStatus.FAILED)
+                            .or().lt(PlanGenerationJobEntity::getHeartbeatAt, staleBefore));
+        } else {
+            wrapper.eq(PlanGenerationJobEntity::getShardIndex, shard.index())
+                    .eq(PlanGenerationJobEntity::getShardCount, shard.count());
+        }
+        wrapper.orderByDesc(PlanGenerationJobEntity::getId).last("LIMIT 1");
+
+        PlanGenerationJobEntity unfinished = planGenerationJobMapper.selectOne(wrapper);
+        if (unfinished != null && claimJob(unfinished)) {
+            return unfinished;
+        }
+        return createJob(from, to, shard);
+    }
+
+    private PlanGenerationJobEntity createJob(LocalDate from, LocalDate to, UserShard shard) {
+        LocalDateTime now = now();
+        PlanGenerationJobEntity job = new PlanGenerationJobEntity();
+        job.setPlanFrom(from);
+        job.setPlanTo(to);
+        job.setShardIndex(shard == null ? null : shard.index());
+        job.setShardCount(shard == null ? null : shard.count());
+        job.setStatus(PlanGenerationJobStatus.RUNNING);
+        job.setCursorUserId(0L);
+        job.setUsers(0);
+        job.setGenerated(0);
+        job.setSkipped(0);
+        job.setFailedChunks(0);
+        job.setHeartbeatAt(now);
+        job.setCreatedAt(now);
+        planGenerationJobMapper.insert(job);
+        return job;
     }
 
-    private boolean matchesIntervalDays(TaskTemplateEntity template, LocalDate date) {
-        if (template.getIntervalDays() == null || template.getIntervalDays() <= 0 || template.getActiveFrom() == null) {
+    private boolean claimJob(PlanGenerationJobEntity job) {
+        LocalDateTime heartbeatAt = now();
+        int claimed = planGenerationJobMapper.update(null, new LambdaUpdateWrapper<PlanGenerationJobEntity>()
+                .set(PlanGenerationJobEntity::getStatus, PlanGenerationJobStatus.RUNNING)
+                .set(PlanGenerationJobEntity::getFailedChunks, 0)
+                .set(PlanGenerationJobEntity::getFinishedAt, null)
+                .set(PlanGenerationJobEntity::getHeartbeatAt, heartbeatAt)
+                .eq(PlanGenerationJobEntity::getId, job.getId())
+                .eq(PlanGenerationJobEntity::getStatus, job.getStatus())
+                .eq(PlanGenerationJobEntity::getHeartbeatAt, job.getHeartbeatAt()));
+        if (claimed == 0) {
             return false;
         }
-        if (date.isBefore(template.getActiveFrom())) {
+        job.setStatus(PlanGenerationJobStatus.RUNNING);
+        job.setFailedChunks(0);
+        job.setFinishedAt(null);
+        job.setHeartbeatAt(heartbeatAt);
+        return true;
+    }
+
+    private PlanRangeGenerationResponse runJob(PlanGenerationJobEntity job, BooleanSupplier renewLease) {
+        LocalDate from = job.getPlanFrom();
+        LocalDate to = job.getPlanTo();
+        UserShard shard = job.getShardIndex() == null ? null : new UserShard(job.getShardIndex(), job.getShardCount());
+        long startedAt = System.nanoTime();
+        int generatedBefore = job.getGenerated();
+        Deque<Future<ChunkResult>> inFlight = new ArrayDeque<>();
+        boolean owned = true;
+        try {
+            Long afterUserId = job.getCursorUserId();
+            List<Long> userIds;
+            // Stop queueing after a failed chunk: the cursor cannot move past it, so later partitions would be redone anyway.
+            do {
+                userIds = taskTemplateService.findUserIdsWithActiveTemplates(from, to, shard, afterUserId, USER_PARTITION_SIZE);
+                if (userIds.isEmpty()) {
+                    break;
+                }
+                List<Long> partition = userIds;
+                inFlight.add(generationExecutor.submit(() -> generatePartition(partition, from, to)));
+                if (inFlight.size() >= maxPartitionsInFlight) {
+                    owned = checkpoint(job, await(inFlight.poll())) && renewLease.getAsBoolean();
+                }
+                afterUserId = userIds.get(userIds.size() - 1);
+            } while (owned && job.getFailedChunks() == 0 && userIds.size() == USER_PARTITION_SIZE);
+            while (owned && !inFlight.isEmpty()) {
+                owned = checkpoint(job, await(inFlight.poll())) && renewLease.getAsBoolean();
+            }
+
+            if (owned) {
+                finish(job, job.getFailedChunks() == 0 ? PlanGenerationJobStatus.COMPLETED : PlanGenerationJobStatus.FAILED);
+            } else {
+                inFlight.forEach(future -> future.cancel(true));
+                log.info("Plan generation job {} was taken over by another worker", job.getId());
+            }
+        } catch (RuntimeException e) {
+            inFlight.forEach(future -> future.cancel(true));
+            if (Thread.currentThread().isInterrupted()) {
+                // Shutdown, not a failure: leave the job RUNNING so the next node resumes it once the heartbeat is stale.
+                log.info("Plan generation job {} interrupted after user {}", job.getId(), job.getCursorUserId());
+                throw e;
+            }
+            job.setLastError(e.getMessage());
+            finish(job, PlanGenerationJobStatus.FAILED);
+            throw e;
+        }
+
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        int inserted = job.getGenerated() - generatedBefore;
+        double instancesPerSecond = elapsedMillis == 0 ? inserted : inserted * 1000.0 / elapsedMillis;
+        return new PlanRangeGenerationResponse(
+                job.getId(),
+                from,
+                to,
+                job.getUsers(),
+                job.getGenerated(),
+                job.getSkipped(),
+                job.getFailedChunks(),
+                elapsedMillis,
+                Math.round(instancesPerSecond * 100.0) / 100.0
+        );
+    }
+
+    private ChunkResult generatePartition(List<Long> userIds, LocalDate from, LocalDate to) {
+        long startedAt = System.nanoTime();
+        Long firstUserId = userIds.get(0);
+        Long lastUserId = userIds.get(userIds.size() - 1);
+        try {
+            int[] counts = transactionTemplate.execute(status -> {
+                int matched = 0;
+                int inserted = 0;
+                for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                    LocalDate day = date;
+                    List<TaskTemplateEntity> dayTemplates = taskTemplateService
+                            .findCandidateTemplatesForDate(userIds, day, holidayService.isHoliday(day))
+                            .stream()
+                            .filter(template -> recurrenceMatcher.matches(template, day))
+                            .toList();
+                    for (int start = 0; start < dayTemplates.size(); start += GENERATION_CHUNK_SIZE) {
+                        List<TaskTemplateEntity> chunk = dayTemplates.subList(start, Math.min(start + GENERATION_CHUNK_SIZE, dayTemplates.size()));
+                        inserted += taskInstanceService.createFromTemplates(chunk, day);
+                    }
+                    matched += dayTemplates.size();
+                }
+                return new int[] {matched, inserted};
+            });
+            return new ChunkResult(firstUserId, lastUserId, userIds.size(), counts[0], counts[1], elapsedSince(startedAt), null);
+        } catch (RuntimeException e) {
+            log.warn("Plan generation failed for users {}..{}", firstUserId, lastUserId, e);
+            return new ChunkResult(firstUserId, lastUserId, userIds.size(), 0, 0, elapsedSince(startedAt), e.getMessage());
+        }
+    }
+
+    private boolean checkpoint(PlanGenerationJobEntity job, ChunkResult result) {
+        LocalDateTime now = now();
+        boolean advanceCursor = result.error() == null && job.getFailedChunks() == 0;
+        Boolean owned = transactionTemplate.execute(status -> {
+            int updated = planGenerationJobMapper.update(null, new LambdaUpdateWrapper<PlanGenerationJobEntity>()
+                    .set(advanceCursor, PlanGenerationJobEntity::getCursorUserId, result.lastUserId())
+                    .set(PlanGenerationJobEntity::getUsers, job.getUsers() + result.users())
+                    .set(PlanGenerationJobEntity::getGenerated, job.getGenerated() + result.inserted())
+                    .set(PlanGenerationJobEntity::getSkipped, job.getSkipped() + result.matched() - result.inserted())
+                    .set(PlanGenerationJobEntity::getFailedChunks, job.getFailedChunks() + (result.error() == null ? 0 : 1))
+                    .set(result.error() != null, PlanGenerationJobEntity::getLastError, result.error())
+                    .set(PlanGenerationJobEntity::getHeartbeatAt, now)
+                    .eq(PlanGenerationJobEntity::getId, job.getId())
+                    .eq(PlanGenerationJobEntity::getHeartbeatAt, job.getHeartbeatAt()));
+            if (updated == 0) {
+                return false;
+            }
+
+            PlanGenerationJobChunkEntity chunk = new PlanGenerationJobChunkEntity();
+            chunk.setJobId(job.getId());
+            chunk.setFirstUserId(result.firstUserId());
+            chunk.setLastUserId(result.lastUserId());
+            chunk.setUsers(result.users());
+            chunk.setGenerated(result.inserted());
+            chunk.setSkipped(result.matched() - result.inserted());
+            chunk.setElapsedMillis(result.elapsedMillis());
+            chunk.setError(result.error());
+            chunk.setCreatedAt(now);
+            planGenerationJobChunkMapper.insert(chunk);
+            return true;
+        });
+        if (!Boolean.TRUE.equals(owned)) {
             return false;
         }
-        long daysBetween = ChronoUnit.DAYS.between(template.getActiveFrom(), date);
-        return daysBetween % template.getIntervalDays() == 0;
+
+        if (advanceCursor) {
+            job.setCursorUserId(result.lastUserId());
+        }
+        job.setUsers(job.getUsers() + result.users());
+        job.setGenerated(job.getGenerated() + result.inserted());
+        job.setSkipped(job.getSkipped() + result.matched() - result.inserted());
+        if (result.error() != null) {
+            job.setFailedChunks(job.getFailedChunks() + 1);
+            job.setLastError(result.error());
+        }
+        job.setHeartbeatAt(now);
+        return true;
+    }
+
+    private void finish(PlanGenerationJobEntity job, PlanGenerationJobStatus status) {
+        LocalDateTime now = now();
+        planGenerationJobMapper.update(null, new LambdaUpdateWrapper<PlanGenerationJobEntity>()
+                .set(PlanGenerationJobEntity::getStatus, status)
+                .set(PlanGenerationJobEntity::getLastError, job.getLastError())
+                .set(PlanGenerationJobEntity::getHeartbeatAt, now)
+                .set(PlanGenerationJobEntity::getFinishedAt, now)
+                .eq(PlanGenerationJobEntity::getId, job.getId())
+                .eq(PlanGenerationJobEntity::getHeartbeatAt, job.getHeartbeatAt()));
+        job.setStatus(status);
+        job.setHeartbeatAt(now);
+        job.setFinishedAt(now);
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from cannot be later than to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_HORIZON_DAYS) {
+            throw new IllegalArgumentException("Generation range cannot exceed " + MAX_HORIZON_DAYS + " days");
+        }
+    }
+
+    private PlanGenerationJobResponse toJobResponse(PlanGenerationJobEntity job, List<PlanGenerationJobChunkEntity> chunks) {
+        return new PlanGenerationJobResponse(
+                job.getId(),
+                job.getPlanFrom(),
+                job.getPlanTo(),
+                job.getShardIndex(),
+                job.getShardCount(),
+                job.getStatus(),
+                job.getCursorUserId(),
+                job.getUsers(),
+                job.getGenerated(),
+                job.getSkipped(),
+                job.getFailedChunks(),
+                job.getLastError(),
+                job.getHeartbeatAt(),
+                job.getCreatedAt(),
+                job.getFinishedAt(),
+                chunks.stream().map(chunk -> new PlanGenerationJobChunkResponse(
+                        chunk.getId(),
+                        chunk.getFirstUserId(),
+                        chunk.getLastUserId(),
+                        chunk.getUsers(),
+                        chunk.getGenerated(),
+                        chunk.getSkipped(),
+                        chunk.getElapsedMillis(),
+                        chunk.getError(),
+                        chunk.getCreatedAt()
+                )).toList()
+        );
+    }
+
+    private static LocalDateTime now() {
+        // Heartbeats double as optimistic-lock tokens, so keep them at the precision PostgreSQL stores.
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    private static long elapsedSince(long startedAt) {
+        return (System.nanoTime() - startedAt) / 1_000_000;
+    }
+
+    private ChunkResult await(Future<ChunkResult> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new CompletionException(e.getCause());
+        }
+    }
+
+    private record ChunkResult(
+            Long firstUserId,
+            Long lastUserId,
+            int users,
+            int matched,
+            int inserted,
+            long elapsedMillis,
+            String error
+    ) {
     }
 }
@@ -0,0 +1,43 @@
+package org.stnhh.everydaydo.service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.stnhh.everydaydo.model.entity.TaskTemplateEntity;
+
+@Component
+@RequiredArgsConstructor
+public class RecurrenceMatcher {
+
+    private final HolidayService holidayService;
+
+    public boolean occursOn(TaskTemplateEntity template, LocalDate date) {
+        return Boolean.TRUE.equals(template.getEnabled())
+                && (template.getActiveFrom() == null || !date.isBefore(template.getActiveFrom()))
+                && (template.getActiveTo() == null || !date.isAfter(template.getActiveTo()))
+                && matches(template, date);
+    }
+
+    public boolean matches(TaskTemplateEntity template, LocalDate date) {
+        return switch (template.getRecurrenceType()) {
+            case DAILY -> true;
+            case WORKDAY -> holidayService.isWorkday(date);
+            case HOLIDAY -> holidayService.isHoliday(date);
+            case WEEKLY -> template.getDayOfWeek() != null && date.getDayOfWeek().getValue() == template.getDayOfWeek();
+            case SPECIFIC_DATE -> date.equals(template.getSpecificDate());
+            case INTERVAL_DAYS -> matchesIntervalDays(template, date);
+        };
+    }
+
+    private boolean matchesIntervalDays(TaskTemplateEntity template, LocalDate date) {
+        if (template.getIntervalDays() == null || template.getIntervalDays() <= 0 || template.getActiveFrom() == null) {
+            return false;
+        }
+        if (date.isBefore(template.getActiveFrom())) {
+            return false;
+        }
+        long daysBetween = ChronoUnit.DAYS.between(template.getActiveFrom(), date);
+        return daysBetween % template.getIntervalDays() == 0;
+    }
+}
@@ -3,51 +3,56 @@ package org.stnhh.everydaydo.service;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.stnhh.everydaydo.mapper.CompletionLogMapper;
-import org.stnhh.everydaydo.mapper.TaskInstanceMapper;
+import org.stnhh.everydaydo.config.StatsProperties;
 import org.stnhh.everydaydo.mapper.TimeWindowCheckinMapper;
-import org.stnhh.everydaydo.model.dto.checkin.CheckinRecordResponse;
+import org.stnhh.everydaydo.mapper.UserDailyStatsMapper;
 import org.stnhh.everydaydo.model.dto.checkin.HourlyCheckinResponse;
 import org.stnhh.everydaydo.model.dto.common.PageResponse;
+import org.stnhh.everydaydo.model.dto.stats.CompletionSeriesPoint;
+import org.stnhh.everydaydo.model.dto.stats.CompletionSeriesResponse;
 import org.stnhh.everydaydo.model.dto.stats.CompletionSummaryResponse;
-import org.stnhh.everydaydo.model.entity.CompletionLogEntity;
 import org.stnhh.everydaydo.model.entity.TaskInstanceEntity;
 import org.stnhh.everydaydo.model.entity.TimeWindowCheckinEntity;
+import org.stnhh.everydaydo.model.entity.UserDailyStatsEntity;
+import org.stnhh.everydaydo.model.enums.SeriesBucket;
 import org.stnhh.everydaydo.model.enums.SummaryPeriod;
-import org.stnhh.everydaydo.model.enums.TaskStatus;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class StatsService {
 
-    private final TaskInstanceMapper taskInstanceMapper;
+    private static final int MAX_SERIES_POINTS = 366;
+
+    private final UserDailyStatsMapper userDailyStatsMapper;
+    private final DayVersionService dayVersionService;
+    private final StatsProperties statsProperties;
     private final TimeWindowCheckinMapper timeWindowCheckinMapper;
-    private final CompletionLogMapper completionLogMapper;
+    private final CheckinLoader checkinLoader;
+    private final TaskInstanceService taskInstanceService;
 
     public CompletionSummaryResponse completionSummary(Long userId, SummaryPeriod period, LocalDate referenceDate) {
         DateRange range = rangeFor(period, referenceDate);
-        List<TaskInstanceEntity> tasks = taskInstanceMapper.selectList(new LambdaQueryWrapper<TaskInstanceEntity>()
-                .eq(TaskInstanceEntity::getUserId, userId)
-                .ge(TaskInstanceEntity::getPlanDate, range.start())
-                .lt(TaskInstanceEntity::getPlanDate, range.endExclusive()));
-
-        int totalTasks = tasks.size();
-        int completedTasks = (int) tasks.stream().filter(t -> t.getStatus() == TaskStatus.COMPLETED).count();
-        int adHocTasks = (int) tasks.stream().filter(t -> Boolean.TRUE.equals(t.getAdHoc())).count();
-        int plannedMinutes = tasks.stream().map(TaskInstanceEntity::getPlannedMinutes).filter(v -> v != null).mapToInt(Integer::intValue).sum();
-        int completedMinutes = tasks.stream().map(TaskInstanceEntity::getCompletedMinutes).filter(v -> v != null).mapToInt(Integer::intValue).sum();
-
-        double taskCompletionRate = totalTasks == 0 ? 0.0 : round2((double) completedTasks / totalTasks);
-        double minuteCompletionRate = plannedMinutes == 0 ? 0.0 : round2((double) completedMinutes / plannedMinutes);
+        taskInstanceService.materializeDueOccurrences(userId, range.start(), range.endExclusive().minusDays(1));
+        UserDailyStatsEntity totals = userDailyStatsMapper.sumRange(userId, range.start(), range.endExclusive());
+        List<TaskInstanceEntity> projected = projectedToday(userId, range.start(), range.endExclusive());
+        int totalTasks = totals.getTotalTasks() + projected.size();
+        int completedTasks = totals.getCompletedTasks();
+        int adHocTasks = totals.getAdHocTasks();
+        int plannedMinutes = totals.getPlannedMinutes() + plannedMinutes(projected);
+        int completedMinutes = totals.getCompletedMinutes();
 
         return new CompletionSummaryResponse(
                 period,
@@ -58,70 +63,96 @@ public class StatsService {
                 adHocTasks,
                 plannedMinutes,
                 completedMinutes,
-                taskCompletionRate,
-                minuteCompletionRate
+                rate(completedTasks, totalTasks),
+                rate(completedMinutes, plannedMinutes)
         );
     }
 
-    public PageResponse<HourlyCheckinResponse> reviewPage(Long userId, Integer page, Integer size, LocalDate date) {
+    public CompletionSeriesResponse completionSeries(Long userId, SeriesBucket bucket, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from cannot be later than to");
+        }
+
+        LocalDate start = bucketStart(bucket, from);
+        LocalDate endExclusive = nextBucket(bucket, bucketStart(bucket, to));
+        List<LocalDate> bucketStarts = new ArrayList<>();
+        for (LocalDate date = start; date.isBefore(endExclusive); date = nextBucket(bucket, date)) {
+            if (bucketStarts.size() == MAX_SERIES_POINTS) {
+                throw new IllegalArgumentException("Series cannot exceed " + MAX_SERIES_POINTS + " buckets");
+            }
+            bucketStarts.add(date);
+        }
+
+        taskInstanceService.materializeDueOccurrences(userId, start, endExclusive.minusDays(1));
+        Map<LocalDate, UserDailyStatsEntity> totalsByBucket = userDailyStatsMapper
+                .sumByBucket(userId, bucket.name().toLowerCase(Locale.ROOT), start, endExclusive)
+                .stream()
+                .collect(Collectors.toMap(UserDailyStatsEntity::getPlanDate, Function.identity()));
+        List<TaskInstanceEntity> projected = projectedToday(userId, start, endExclusive);
+        LocalDate todayBucket = bucketStart(bucket, LocalDate.now());
+        List<CompletionSeriesPoint> points = bucketStarts.stream()
+                .map(bucketStart -> {
+                    UserDailyStatsEntity totals = totalsByBucket.get(bucketStart);
+                    List<TaskInstanceEntity> virtual = bucketStart.equals(todayBucket) ? projected : List.of();
+                    int totalTasks = (totals == null ? 0 : totals.getTotalTasks()) + virtual.size();
+                    int completedTasks = totals == null ? 0 : totals.getCompletedTasks();
+                    int plannedMinutes = (totals == null ? 0 : totals.getPlannedMinutes()) + plannedMinutes(virtual);
+                    int completedMinutes = totals == null ? 0 : totals.getCompletedMinutes();
+                    return new CompletionSeriesPoint(
+                            bucketStart,
+                            nextBucket(bucket, bucketStart).minusDays(1),
+                            totalTasks,
+                            completedTasks,
+                            totals == null ? 0 : totals.getAdHocTasks(),
+                            plannedMinutes,
+                            completedMinutes,
+                            rate(completedTasks, totalTasks),
+                            rate(completedMinutes, plannedMinutes)
+                    );
+                })
+                .toList();
+        return new CompletionSeriesResponse(bucket, start, endExclusive.minusDays(1), points);
+    }
+
+    public PageResponse<HourlyCheckinResponse> reviewPage(Long userId, Integer page, Integer size, LocalDate date, String cursor) {
         int safePage = page == null || page < 1 ? 1 : page;
         int safeSize = size == null || size < 1 ? 10 : Math.min(size, 50);
+        ReviewCursor after = cursor == null || cursor.isBlank() ? null : ReviewCursor.decode(cursor);
 
         LambdaQueryWrapper<TimeWindowCheckinEntity> wrapper = new LambdaQueryWrapper<TimeWindowCheckinEntity>()
-                .eq(TimeWindowCheckinEntity::getUserId, userId)
-                .orderByDesc(TimeWindowCheckinEntity::getWindowStart)
-                .orderByDesc(TimeWindowCheckinEntity::getId);
-
+                .eq(TimeWindowCheckinEntity::getUserId, userId);
         if (date != null) {
-            LocalDateTime start = date.atStartOfDay();
-            LocalDateTime end = date.plusDays(1).atStartOfDay();
-            wrapper.ge(TimeWindowCheckinEntity::getWindowStart, start)
-                    .lt(TimeWindowCheckinEntity::getWindowStart, end);
+            wrapper.ge(TimeWindowCheckinEntity::getWindowStart, date.atStartOfDay())
+                    .lt(TimeWindowCheckinEntity::getWindowStart, date.plusDays(1).atStartOfDay());
         }
+        // Counted before the keyset predicate so total still describes the whole feed.
+        long total = timeWindowCheckinMapper.selectCount(wrapper);
 
-        List<TimeWindowCheckinEntity> allCheckins = timeWindowCheckinMapper.selectList(wrapper);
-        int total = allCheckins.size();
-        int fromIndex = (safePage - 1) * safeSize;
-        if (fromIndex >= total) {
-            return new PageResponse<>(List.of(), safePage, safeSize, total, totalPages(total, safeSize));
+        if (after != null) {
+            wrapper.apply("(window_start, id) < ({0}, {1})", after.windowStart(), after.id());
         }
-
-        int toIndex = Math.min(fromIndex + safeSize, total);
-        List<TimeWindowCheckinEntity> pageCheckins = allCheckins.subList(fromIndex, toIndex);
-        Set<Long> checkinIds = pageCheckins.stream().map(TimeWindowCheckinEntity::getId).collect(Collectors.toSet());
-
-        Map<Long, List<CompletionLogEntity>> logsByCheckinId = completionLogMapper.selectList(
-                        new LambdaQueryWrapper<CompletionLogEntity>()
-                                .in(CompletionLogEntity::getCheckinId, checkinIds)
-                                .orderByAsc(CompletionLogEntity::getId)
-                )
-                .stream()
-                .collect(Collectors.groupingBy(CompletionLogEntity::getCheckinId));
-
-        List<HourlyCheckinResponse> items = new ArrayList<>();
-        for (TimeWindowCheckinEntity checkin : pageCheckins) {
-            List<CheckinRecordResponse> records = logsByCheckinId
-                    .getOrDefault(checkin.getId(), List.of())
-                    .stream()
-                    .map(log -> new CheckinRecordResponse(
-                            log.getTaskInstanceId(),
-                            log.getAddedMinutes(),
-                            log.getComment(),
-                            log.getReferenceLink(),
-                            false
-                    ))
-                    .toList();
-
-            items.add(new HourlyCheckinResponse(
-                    checkin.getId(),
-                    checkin.getWindowStart(),
-                    checkin.getWindowEnd(),
-                    checkin.getOverallComment(),
-                    records
-            ));
+        String limit = "LIMIT " + (safeSize + 1);
+        if (after == null && safePage > 1) {
+            limit += " OFFSET " + (long) (safePage - 1) * safeSize;
         }
-
-        return new PageResponse<>(items, safePage, safeSize, total, totalPages(total, safeSize));
+        wrapper.orderByDesc(TimeWindowCheckinEntity::getWindowStart)
+                .orderByDesc(TimeWindowCheckinEntity::getId)
+                .last(limit);
+
+        List<TimeWindowCheckinEntity> rows = timeWindowCheckinMapper.selectList(wrapper);
+        boolean hasMore = rows.size() > safeSize;
+        List<TimeWindowCheckinEntity> checkins = hasMore ? rows.subList(0, safeSize) : rows;
+        TimeWindowCheckinEntity last = checkins.isEmpty() ? null : checkins.get(checkins.size() - 1);
+        String nextCursor = hasMore ? new ReviewCursor(last.getWindowStart(), last.getId()).encode() : null;
+
+        return new PageResponse<>(
+                checkinLoader.hydrate(checkins),
+                safePage,
+                safeSize,
+                total,
+                totalPages(total, safeSize),
+                nextCursor
+        );
     }
 
     private DateRange rangeFor(SummaryPeriod period, LocalDate referenceDate) {
@@ -141,11 +172,62 @@ public class StatsService {
         };
     }
 
+    @Scheduled(cron = "${app.stats.repair-cron:0 30 3 * * *}")
+    public void repairDailyStats() {
+        LocalDate today = LocalDate.now();
+        List<UserDailyStatsEntity> drifted = userDailyStatsMapper.findDrifted(
+                today.minusDays(statsProperties.repairWindowDays()),
+                today.plusDays(statsProperties.repairWindowDays() + 1L)
+        );
+        if (drifted.isEmpty()) {
+            return;
+        }
+
+        log.warn("Repairing {} drifted daily stats rows", drifted.size());
+        drifted.stream()
+                .collect(Collectors.groupingBy(UserDailyStatsEntity::getUserId, TreeMap::new,
+                        Collectors.mapping(UserDailyStatsEntity::getPlanDate, Collectors.toList())))
+                .forEach(dayVersionService::markTasksChanged);
+    }
+
+    // Lazy mode keeps today's template occurrences virtual until they are touched, so they have no stats row yet.
+    private List<TaskInstanceEntity> projectedToday(Long userId, LocalDate start, LocalDate endExclusive) {
+        LocalDate today = LocalDate.now();
+        if (today.isBefore(start) || !today.isBefore(endExclusive)) {
+            return List.of();
+        }
+        return taskInstanceService.listProjectedOccurrences(userId, today, today);
+    }
+
+    private int plannedMinutes(List<TaskInstanceEntity> tasks) {
+        return tasks.stream().mapToInt(task -> task.getPlannedMinutes() == null ? 0 : task.getPlannedMinutes()).sum();
+    }
+
+    private LocalDate bucketStart(SeriesBucket bucket, LocalDate date) {
+        return switch (bucket) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+
+    private LocalDate nextBucket(SeriesBucket bucket, LocalDate bucketStart) {
+        return switch (bucket) {
+            case DAY -> bucketStart.plusDays(1);
+            case WEEK -> bucketStart.plusWeeks(1);
+            case MONTH -> bucketStart.plusMonths(1);
+        };
+    }
+
+    private double rate(int part, int whole) {
+        return whole == 0 ? 0.0 : round2((double) part / whole);
+    }
+
     private double round2(double value) {
         return Math.round(value * 100.0) / 100.0;
     }
 
-    private int totalPages(int total, int size) {
+    private int totalPages(long total, int size) {
         return total == 0 ? 0 : (int) Math.ceil((double) total / size);
     }
 
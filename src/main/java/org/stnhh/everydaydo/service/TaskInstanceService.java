@@ -1,18 +1,34 @@
 package org.stnhh.everydaydo.service;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
+import org.stnhh.everydaydo.config.PlanProperties;
 import org.stnhh.everydaydo.mapper.TaskInstanceMapper;
+import org.stnhh.everydaydo.mapper.TaskOccurrenceSkipMapper;
+import org.stnhh.everydaydo.model.dto.checkin.CheckinRecordRequest;
+import org.stnhh.everydaydo.model.dto.common.CursorPageResponse;
 import org.stnhh.everydaydo.model.dto.task.CreateManualTaskRequest;
 import org.stnhh.everydaydo.model.dto.task.TaskInstanceResponse;
 import org.stnhh.everydaydo.model.dto.task.UpdateTaskRequest;
 import org.stnhh.everydaydo.model.entity.TaskInstanceEntity;
+import org.stnhh.everydaydo.model.entity.TaskOccurrenceSkipEntity;
 import org.stnhh.everydaydo.model.entity.TaskTemplateEntity;
 import org.stnhh.everydaydo.model.enums.TaskStatus;
 
@@ -20,28 +36,46 @@ import org.stnhh.everydaydo.model.enums.TaskStatus;
 @RequiredArgsConstructor
 public class TaskInstanceService {
 
+    private static final Comparator<TaskInstanceEntity> LIST_ORDER = Comparator
+            .comparing(TaskInstanceEntity::getPlannedStartTime, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(TaskInstanceEntity::getId, Comparator.reverseOrder());
+
+    private static final Comparator<TaskInstanceEntity> RANGE_ORDER = Comparator
+            .comparing(TaskInstanceEntity::getPlanDate)
+            .thenComparing(TaskInstanceEntity::getId);
+    private static final int MAX_RANGE_DAYS = 92;
+    private static final int DEFAULT_RANGE_PAGE_SIZE = 200;
+    private static final int MAX_RANGE_PAGE_SIZE = 500;
+    private static final int MATERIALIZE_CHUNK_SIZE = 500;
+
     private final TaskInstanceMapper taskInstanceMapper;
+    private final TaskOccurrenceSkipMapper taskOccurrenceSkipMapper;
+    private final TaskTemplateService taskTemplateService;
+    private final HolidayService holidayService;
+    private final RecurrenceMatcher recurrenceMatcher;
+    private final DayVersionService dayVersionService;
+    private final TaskListCache taskListCache;
+    private final PlanProperties planProperties;
 
     @Transactional
     public TaskInstanceResponse createManual(Long userId, CreateManualTaskRequest request) {
-        TaskInstanceEntity entity = new TaskInstanceEntity();
-        entity.setUserId(userId);
-        entity.setTemplateId(null);
-        entity.setTitle(request.title());
-        entity.setDescription(request.description());
-        entity.setPlanDate(request.planDate());
-        entity.setPlannedStartTime(request.plannedStartTime());
-        entity.setPlannedMinutes(request.plannedMinutes());
-        entity.setCompletedMinutes(0);
-        entity.setStatus(TaskStatus.PENDING);
-        entity.setAdHoc(true);
-        entity.setCreatedAt(LocalDateTime.now());
-        entity.setUpdatedAt(LocalDateTime.now());
-
+        TaskInstanceEntity entity = manualTask(userId, request, LocalDateTime.now());
         taskInstanceMapper.insert(entity);
+        dayVersionService.markTasksChanged(userId, entity.getPlanDate());
         return toResponse(entity);
     }
 
+    @Transactional
+    public List<TaskInstanceResponse> createManualBatch(Long userId, List<CreateManualTaskRequest> requests) {
+        LocalDateTime now = LocalDateTime.now();
+        List<TaskInstanceEntity> entities = requests.stream()
+                .map(request -> manualTask(userId, request, now))
+                .toList();
+        taskInstanceMapper.insertAll(entities);
+        dayVersionService.markTasksChanged(userId, planDates(entities));
+        return entities.stream().map(this::toResponse).toList();
+    }
+
     @Transactional
     public Long addCompletionMinutes(Long userId, Long taskInstanceId, int addedMinutes) {
         return adjustCompletionMinutes(userId, taskInstanceId, addedMinutes);
@@ -49,53 +83,206 @@ public class TaskInstanceService {
 
     @Transactional
     public Long adjustCompletionMinutes(Long userId, Long taskInstanceId, int deltaMinutes) {
-        TaskInstanceEntity task = requireOwnedTask(userId, taskInstanceId);
-        int base = task.getCompletedMinutes() == null ? 0 : task.getCompletedMinutes();
-        int updatedCompleted = Math.max(0, base + deltaMinutes);
-        task.setCompletedMinutes(updatedCompleted);
-        if (task.getStatus() != TaskStatus.CANCELLED) {
-            task.setStatus(resolveStatus(updatedCompleted, task.getPlannedMinutes()));
-        }
-        task.setUpdatedAt(LocalDateTime.now());
-        taskInstanceMapper.updateById(task);
+        Long taskId = VirtualTaskId.isVirtual(taskInstanceId)
+                ? requireOwnedTask(userId, taskInstanceId).getId()
+                : taskInstanceId;
+        // Status mirrors resolveStatus(); doing both in one UPDATE keeps concurrent check-ins from losing minutes.
+        TaskInstanceEntity task = taskInstanceMapper.adjustCompletedMinutes(userId, taskId, deltaMinutes, LocalDateTime.now());
+        if (task == null) {
+            throw new IllegalArgumentException("Task instance not found");
+        }
+        dayVersionService.markTasksChanged(userId, task.getPlanDate());
         return task.getId();
     }
 
     @Transactional
-    public TaskInstanceEntity createAdHocFromCheckin(Long userId, String title, LocalDate planDate, int completedMinutes) {
-        if (!StringUtils.hasText(title)) {
-            throw new IllegalArgumentException("title cannot be blank");
+    public Map<Long, Long> adjustCompletionMinutes(Long userId, Map<Long, Integer> deltasByTaskId) {
+        Map<Long, Long> resolvedIds = new HashMap<>();
+        Map<Long, Integer> deltas = new HashMap<>();
+        deltasByTaskId.forEach((taskId, delta) -> {
+            Long resolvedId = VirtualTaskId.isVirtual(taskId) ? requireOwnedTask(userId, taskId).getId() : taskId;
+            resolvedIds.put(taskId, resolvedId);
+            deltas.merge(resolvedId, delta, Integer::sum);
+        });
+        deltas.values().removeIf(delta -> delta == 0);
+        if (deltas.isEmpty()) {
+            return resolvedIds;
         }
 
-        TaskInstanceEntity entity = new TaskInstanceEntity();
-        entity.setUserId(userId);
-        entity.setTemplateId(null);
-        entity.setTitle(title.trim());
-        entity.setDescription(null);
-        entity.setPlanDate(planDate);
-        entity.setPlannedStartTime(null);
-        entity.setPlannedMinutes(completedMinutes);
-        entity.setCompletedMinutes(completedMinutes);
-        entity.setStatus(TaskStatus.COMPLETED);
-        entity.setAdHoc(true);
-        entity.setCreatedAt(LocalDateTime.now());
-        entity.setUpdatedAt(LocalDateTime.now());
-        taskInstanceMapper.insert(entity);
-        return entity;
+        List<TaskInstanceEntity> updated = taskInstanceMapper.adjustCompletedMinutesBatch(userId, deltas, LocalDateTime.now());
+        if (updated.size() != deltas.size()) {
+            throw new IllegalArgumentException("Task instance not found");
+        }
+        dayVersionService.markTasksChanged(userId, planDates(updated));
+        return resolvedIds;
+    }
+
+    @Transactional
+    public Map<Long, Long> resolveOwnedTaskIds(Long userId, Collection<Long> taskIds) {
+        Map<Long, Long> resolvedIds = new HashMap<>();
+        List<Long> persistedIds = new ArrayList<>();
+        for (Long taskId : new LinkedHashSet<>(taskIds)) {
+            if (!VirtualTaskId.isVirtual(taskId)) {
+                persistedIds.add(taskId);
+                continue;
+            }
+            // materialize() rejects before writing anything, so an unknown id just stays unresolved.
+            try {
+                resolvedIds.put(taskId, materialize(userId, taskId).getId());
+            } catch (IllegalArgumentException ignored) {
+            }
+        }
+        if (!persistedIds.isEmpty()) {
+            taskInstanceMapper.selectObjs(new LambdaQueryWrapper<TaskInstanceEntity>()
+                            .select(TaskInstanceEntity::getId)
+                            .eq(TaskInstanceEntity::getUserId, userId)
+                            .in(TaskInstanceEntity::getId, persistedIds))
+                    .forEach(value -> {
+                        Long id = ((Number) value).longValue();
+                        resolvedIds.put(id, id);
+                    });
+        }
+        return resolvedIds;
+    }
+
+    // Lazy mode projects today onwards; elapsed days are written out once so reads of the past only see rows.
+    @Transactional
+    public void materializeDueOccurrences(Long userId, LocalDate from, LocalDate to) {
+        if (!planProperties.lazyMaterialization()) {
+            return;
+        }
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        List<TaskInstanceEntity> occurrences = virtualOccurrences(userId, from, to.isAfter(yesterday) ? yesterday : to);
+        if (occurrences.isEmpty()) {
+            return;
+        }
+        occurrences.forEach(task -> task.setId(null));
+        // Chunked like plan generation: a year of daily templates would overflow the driver's bind-parameter limit.
+        Set<LocalDate> insertedDates = new HashSet<>();
+        for (int start = 0; start < occurrences.size(); start += MATERIALIZE_CHUNK_SIZE) {
+            List<TaskInstanceEntity> chunk = occurrences.subList(start, Math.min(start + MATERIALIZE_CHUNK_SIZE, occurrences.size()));
+            if (!taskInstanceMapper.insertFromTemplatesIgnoringConflicts(chunk).isEmpty()) {
+                insertedDates.addAll(planDates(chunk));
+            }
+        }
+        dayVersionService.markTasksChanged(userId, insertedDates);
+    }
+
+    public List<TaskInstanceEntity> listProjectedOccurrences(Long userId, LocalDate from, LocalDate to) {
+        if (!planProperties.lazyMaterialization()) {
+            return List.of();
+        }
+        LocalDate today = LocalDate.now();
+        return virtualOccurrences(userId, from.isBefore(today) ? today : from, to);
+    }
+
+    @Transactional
+    public List<TaskInstanceEntity> createAdHocFromCheckin(Long userId, LocalDate planDate, List<CheckinRecordRequest> records) {
+        if (records.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<TaskInstanceEntity> entities = records.stream()
+                .map(record -> adHocFromCheckin(userId, record.title(), planDate, record.completedMinutes(), now))
+                .toList();
+        taskInstanceMapper.insertAll(entities);
+        dayVersionService.markTasksChanged(userId, planDate);
+        return entities;
+    }
+
+    public List<TaskInstanceResponse> listByDate(Long userId, LocalDate date, String dayVersion) {
+        return taskListCache.get(userId, date, dayVersion, () -> listByDate(userId, date));
     }
 
     public List<TaskInstanceResponse> listByDate(Long userId, LocalDate date) {
-        return taskInstanceMapper.selectList(new LambdaQueryWrapper<TaskInstanceEntity>()
-                        .eq(TaskInstanceEntity::getUserId, userId)
-                        .eq(TaskInstanceEntity::getPlanDate, date)
-                        .orderByAsc(TaskInstanceEntity::getPlannedStartTime)
-                        .orderByDesc(TaskInstanceEntity::getId))
-                .stream().map(this::toResponse).toList();
+        boolean project = planProperties.lazyMaterialization() && !date.isBefore(LocalDate.now());
+        List<TaskInstanceEntity> persisted = taskInstanceMapper.selectList(new LambdaQueryWrapper<TaskInstanceEntity>()
+                .eq(TaskInstanceEntity::getUserId, userId)
+                .eq(TaskInstanceEntity::getPlanDate, date)
+                .orderByAsc(TaskInstanceEntity::getPlannedStartTime)
+                .orderByDesc(TaskInstanceEntity::getId));
+        if (!project || !VirtualTaskId.supports(date)) {
+            return persisted.stream().map(this::toResponse).toList();
+        }
+
+        List<TaskInstanceEntity> merged = new ArrayList<>(persisted);
+        merged.addAll(virtualOccurrences(userId, date, persisted));
+        merged.sort(LIST_ORDER);
+        return merged.stream().map(this::toResponse).toList();
+    }
+
+    // Transactional so the materialization below shares this transaction rather than relying on the proxy.
+    @Transactional
+    public CursorPageResponse<TaskInstanceResponse> listByRange(
+            Long userId,
+            LocalDate from,
+            LocalDate to,
+            String cursor,
+            Integer size,
+            boolean includeDescription
+    ) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from cannot be later than to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+        int safeSize = size == null || size <= 0 ? DEFAULT_RANGE_PAGE_SIZE : Math.min(size, MAX_RANGE_PAGE_SIZE);
+        TaskRangeCursor after = cursor == null || cursor.isBlank() ? null : TaskRangeCursor.decode(cursor);
+        materializeDueOccurrences(userId, from, to);
+
+        LambdaQueryWrapper<TaskInstanceEntity> wrapper = new LambdaQueryWrapper<TaskInstanceEntity>()
+                .eq(TaskInstanceEntity::getUserId, userId)
+                .between(TaskInstanceEntity::getPlanDate, from, to);
+        if (!includeDescription) {
+            wrapper.select(TaskInstanceEntity.class, field -> !"description".equals(field.getColumn()));
+        }
+        if (after != null) {
+            wrapper.apply("(plan_date, id) > ({0}, {1})", after.planDate(), after.id());
+        }
+        wrapper.orderByAsc(TaskInstanceEntity::getPlanDate)
+                .orderByAsc(TaskInstanceEntity::getId)
+                .last("LIMIT " + (safeSize + 1));
+
+        List<TaskInstanceEntity> rows = taskInstanceMapper.selectList(wrapper);
+        boolean hasMore = rows.size() > safeSize;
+        List<TaskInstanceEntity> page = hasMore ? rows.subList(0, safeSize) : rows;
+        TaskInstanceEntity last = page.isEmpty() ? null : page.get(page.size() - 1);
+        String nextCursor = hasMore ? new TaskRangeCursor(last.getPlanDate(), last.getId()).encode() : null;
+        if (!planProperties.lazyMaterialization()) {
+            return new CursorPageResponse<>(page.stream().map(this::toResponse).toList(), safeSize, nextCursor);
+        }
+
+        // Virtual ids are negative, so a day's virtual tasks sort ahead of its persisted ones; anything
+        // trimmed off here is recomputed by the next page from the same cursor.
+        LocalDate spanFrom = after == null ? from : after.planDate();
+        LocalDate spanTo = hasMore ? last.getPlanDate() : to;
+        List<TaskInstanceEntity> merged = new ArrayList<>(page);
+        for (TaskInstanceEntity task : listProjectedOccurrences(userId, spanFrom, spanTo)) {
+            if (after == null || after.isBefore(task.getPlanDate(), task.getId())) {
+                if (!includeDescription) {
+                    task.setDescription(null);
+                }
+                merged.add(task);
+            }
+        }
+        merged.sort(RANGE_ORDER);
+        if (merged.size() > safeSize) {
+            merged = merged.subList(0, safeSize);
+            TaskInstanceEntity lastMerged = merged.get(safeSize - 1);
+            nextCursor = new TaskRangeCursor(lastMerged.getPlanDate(), lastMerged.getId()).encode();
+        }
+        return new CursorPageResponse<>(merged.stream().map(this::toResponse).toList(), safeSize, nextCursor);
     }
 
     @Transactional
     public TaskInstanceResponse update(Long userId, Long taskId, UpdateTaskRequest request) {
         TaskInstanceEntity entity = requireOwnedTask(userId, taskId);
+        LocalDate previousPlanDate = entity.getPlanDate();
+        if (!previousPlanDate.equals(request.planDate())) {
+            skipTemplateOccurrence(entity);
+        }
         entity.setTitle(request.title());
         entity.setDescription(request.description());
         entity.setPlanDate(request.planDate());
@@ -114,6 +301,7 @@ public class TaskInstanceService {
 
         entity.setUpdatedAt(LocalDateTime.now());
         taskInstanceMapper.updateById(entity);
+        dayVersionService.markTasksChanged(userId, Set.of(previousPlanDate, entity.getPlanDate()));
         return toResponse(entity);
     }
 
@@ -126,39 +314,92 @@ public class TaskInstanceService {
         entity.setStatus(status);
         entity.setUpdatedAt(LocalDateTime.now());
         taskInstanceMapper.updateById(entity);
+        dayVersionService.markTasksChanged(userId, entity.getPlanDate());
         return toResponse(entity);
     }
 
     @Transactional
     public void delete(Long userId, Long taskId) {
         TaskInstanceEntity entity = requireOwnedTask(userId, taskId);
+        skipTemplateOccurrence(entity);
         taskInstanceMapper.deleteById(entity.getId());
+        dayVersionService.markTasksChanged(userId, entity.getPlanDate());
     }
 
     @Transactional
-    public void createFromTemplateIfNotExists(TaskTemplateEntity template, LocalDate date) {
-        Long count = taskInstanceMapper.selectCount(new LambdaQueryWrapper<TaskInstanceEntity>()
-                .eq(TaskInstanceEntity::getUserId, template.getUserId())
-                .eq(TaskInstanceEntity::getTemplateId, template.getId())
-                .eq(TaskInstanceEntity::getPlanDate, date));
-        if (count != null && count > 0) {
-            return;
+    public List<TaskInstanceResponse> setStatusBatch(Long userId, List<Long> taskIds, TaskStatus status) {
+        List<TaskInstanceEntity> tasks = requireOwnedTasks(userId, taskIds);
+        if (status == TaskStatus.PENDING && tasks.stream()
+                .anyMatch(task -> task.getCompletedMinutes() != null && task.getCompletedMinutes() > 0)) {
+            throw new IllegalArgumentException("Cannot set task to PENDING when completed minutes is greater than 0");
         }
 
-        TaskInstanceEntity entity = new TaskInstanceEntity();
-        entity.setUserId(template.getUserId());
-        entity.setTemplateId(template.getId());
-        entity.setTitle(template.getTitle());
-        entity.setDescription(template.getDescription());
-        entity.setPlanDate(date);
-        entity.setPlannedStartTime(template.getDefaultStartTime());
-        entity.setPlannedMinutes(template.getEstimatedMinutes());
-        entity.setCompletedMinutes(0);
-        entity.setStatus(TaskStatus.PENDING);
-        entity.setAdHoc(false);
-        entity.setCreatedAt(LocalDateTime.now());
-        entity.setUpdatedAt(LocalDateTime.now());
-        taskInstanceMapper.insert(entity);
+        LocalDateTime now = LocalDateTime.now();
+        taskInstanceMapper.update(null, new LambdaUpdateWrapper<TaskInstanceEntity>()
+                .set(TaskInstanceEntity::getStatus, status)
+                .set(TaskInstanceEntity::getUpdatedAt, now)
+                .eq(TaskInstanceEntity::getUserId, userId)
+                .in(TaskInstanceEntity::getId, ids(tasks)));
+        tasks.forEach(task -> {
+            task.setStatus(status);
+            task.setUpdatedAt(now);
+        });
+        dayVersionService.markTasksChanged(userId, planDates(tasks));
+        return tasks.stream().map(this::toResponse).toList();
+    }
+
+    @Transactional
+    public List<TaskInstanceResponse> rescheduleBatch(Long userId, List<Long> taskIds, LocalDate planDate) {
+        List<TaskInstanceEntity> tasks = requireOwnedTasks(userId, taskIds);
+        List<TaskInstanceEntity> moved = tasks.stream()
+                .filter(task -> !task.getPlanDate().equals(planDate))
+                .toList();
+        if (moved.isEmpty()) {
+            return tasks.stream().map(this::toResponse).toList();
+        }
+
+        skipTemplateOccurrences(moved);
+        Set<LocalDate> changedDates = new HashSet<>(planDates(moved));
+        changedDates.add(planDate);
+        LocalDateTime now = LocalDateTime.now();
+        taskInstanceMapper.update(null, new LambdaUpdateWrapper<TaskInstanceEntity>()
+                .set(TaskInstanceEntity::getPlanDate, planDate)
+                .set(TaskInstanceEntity::getUpdatedAt, now)
+                .eq(TaskInstanceEntity::getUserId, userId)
+                .in(TaskInstanceEntity::getId, ids(moved)));
+        moved.forEach(task -> {
+            task.setPlanDate(planDate);
+            task.setUpdatedAt(now);
+        });
+        dayVersionService.markTasksChanged(userId, changedDates);
+        return tasks.stream().map(this::toResponse).toList();
+    }
+
+    @Transactional
+    public int deleteBatch(Long userId, List<Long> taskIds) {
+        List<TaskInstanceEntity> tasks = requireOwnedTasks(userId, taskIds);
+        skipTemplateOccurrences(tasks);
+        int deleted = taskInstanceMapper.delete(new LambdaQueryWrapper<TaskInstanceEntity>()
+                .eq(TaskInstanceEntity::getUserId, userId)
+                .in(TaskInstanceEntity::getId, ids(tasks)));
+        dayVersionService.markTasksChanged(userId, planDates(tasks));
+        return deleted;
+    }
+
+    @Transactional
+    public int createFromTemplates(List<TaskTemplateEntity> templates, LocalDate date) {
+        if (templates.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<TaskInstanceEntity> entities = templates.stream()
+                .map(template -> fromTemplate(template, date, now))
+                .toList();
+        // One user id per inserted row; users whose rows all hit the conflict clause keep their day version.
+        List<Long> insertedUserIds = taskInstanceMapper.insertFromTemplatesIgnoringConflicts(entities);
+        dayVersionService.markTasksChanged(new HashSet<>(insertedUserIds), date);
+        return insertedUserIds.size();
     }
 
     private TaskInstanceResponse toResponse(TaskInstanceEntity entity) {
@@ -176,7 +417,189 @@ public class TaskInstanceService {
         );
     }
 
+    private List<TaskInstanceEntity> virtualOccurrences(Long userId, LocalDate date, List<TaskInstanceEntity> persisted) {
+        Set<Long> coveredTemplateIds = new HashSet<>();
+        for (TaskInstanceEntity task : persisted) {
+            if (task.getTemplateId() != null) {
+                coveredTemplateIds.add(task.getTemplateId());
+            }
+        }
+        for (TaskOccurrenceSkipEntity skip : taskOccurrenceSkipMapper.findInRange(userId, date, date)) {
+            coveredTemplateIds.add(skip.getTemplateId());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        return taskTemplateService.findCandidateTemplatesForDate(List.of(userId), date, holidayService.isHoliday(date))
+                .stream()
+                .filter(template -> !coveredTemplateIds.contains(template.getId()))
+                .filter(template -> existedOn(template, date))
+                .filter(template -> recurrenceMatcher.matches(template, date))
+                .map(template -> {
+                    TaskInstanceEntity entity = fromTemplate(template, date, now);
+                    entity.setId(VirtualTaskId.encode(template.getId(), date));
+                    return entity;
+                })
+                .toList();
+    }
+
+    private List<TaskInstanceEntity> virtualOccurrences(Long userId, LocalDate from, LocalDate to) {
+        if (from.isAfter(to) || !VirtualTaskId.supports(from) || !VirtualTaskId.supports(to)) {
+            return List.of();
+        }
+        List<TaskTemplateEntity> templates = taskTemplateService.findActiveTemplates(userId, from, to);
+        if (templates.isEmpty()) {
+            return List.of();
+        }
+        // Nothing occurs before its template was created, so open-ended ranges start at the oldest template.
+        LocalDate firstCreated = templates.stream()
+                .map(template -> template.getCreatedAt().toLocalDate())
+                .min(Comparator.naturalOrder())
+                .orElseThrow();
+        LocalDate start = from.isBefore(firstCreated) ? firstCreated : from;
+
+        Set<Long> coveredIds = new HashSet<>();
+        for (TaskInstanceEntity task : taskInstanceMapper.selectList(new LambdaQueryWrapper<TaskInstanceEntity>()
+                .select(TaskInstanceEntity::getTemplateId, TaskInstanceEntity::getPlanDate)
+                .eq(TaskInstanceEntity::getUserId, userId)
+                .between(TaskInstanceEntity::getPlanDate, from, to)
+                .isNotNull(TaskInstanceEntity::getTemplateId))) {
+            coveredIds.add(VirtualTaskId.encode(task.getTemplateId(), task.getPlanDate()));
+        }
+        for (TaskOccurrenceSkipEntity skip : taskOccurrenceSkipMapper.findInRange(userId, from, to)) {
+            coveredIds.add(VirtualTaskId.encode(skip.getTemplateId(), skip.getPlanDate()));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<TaskInstanceEntity> occurrences = new ArrayList<>();
+        for (LocalDate date = start; !date.isAfter(to); date = date.plusDays(1)) {
+            for (TaskTemplateEntity template : templates) {
+                long virtualId = VirtualTaskId.encode(template.getId(), date);
+                if (!coveredIds.contains(virtualId) && existedOn(template, date) && recurrenceMatcher.occursOn(template, date)) {
+                    TaskInstanceEntity entity = fromTemplate(template, date, now);
+                    entity.setId(virtualId);
+                    occurrences.add(entity);
+                }
+            }
+        }
+        return occurrences;
+    }
+
+    private TaskInstanceEntity materialize(Long userId, Long virtualTaskId) {
+        Long templateId = VirtualTaskId.templateId(virtualTaskId);
+        LocalDate planDate = VirtualTaskId.planDate(virtualTaskId);
+        TaskTemplateEntity template = taskTemplateService.findOwnedTemplate(userId, templateId);
+        if (template == null
+                || !existedOn(template, planDate)
+                || !recurrenceMatcher.occursOn(template, planDate)
+                || isSkipped(userId, templateId, planDate)) {
+            throw new IllegalArgumentException("Task instance not found");
+        }
+
+        taskInstanceMapper.insertFromTemplatesIgnoringConflicts(List.of(fromTemplate(template, planDate, LocalDateTime.now())));
+        return taskInstanceMapper.selectOne(new LambdaQueryWrapper<TaskInstanceEntity>()
+                .eq(TaskInstanceEntity::getUserId, userId)
+                .eq(TaskInstanceEntity::getTemplateId, templateId)
+                .eq(TaskInstanceEntity::getPlanDate, planDate));
+    }
+
+    private boolean existedOn(TaskTemplateEntity template, LocalDate date) {
+        return !date.isBefore(template.getCreatedAt().toLocalDate());
+    }
+
+    private boolean isSkipped(Long userId, Long templateId, LocalDate planDate) {
+        return taskOccurrenceSkipMapper.exists(userId, templateId, planDate);
+    }
+
+    private void skipTemplateOccurrence(TaskInstanceEntity task) {
+        skipTemplateOccurrences(List.of(task));
+    }
+
+    private void skipTemplateOccurrences(List<TaskInstanceEntity> tasks) {
+        if (!planProperties.lazyMaterialization()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<TaskOccurrenceSkipEntity> skips = tasks.stream()
+                .filter(task -> task.getTemplateId() != null)
+                .map(task -> {
+                    TaskOccurrenceSkipEntity skip = new TaskOccurrenceSkipEntity();
+                    skip.setUserId(task.getUserId());
+                    skip.setTemplateId(task.getTemplateId());
+                    skip.setPlanDate(task.getPlanDate());
+                    skip.setCreatedAt(now);
+                    return skip;
+                })
+                .toList();
+        if (!skips.isEmpty()) {
+            taskOccurrenceSkipMapper.insertAllIgnoringConflicts(skips);
+        }
+    }
+
+    private TaskInstanceEntity adHocFromCheckin(
+            Long userId,
+            String title,
+            LocalDate planDate,
+            int completedMinutes,
+            LocalDateTime now
+    ) {
+        if (!StringUtils.hasText(title)) {
+            throw new IllegalArgumentException("title cannot be blank");
+        }
+
+        TaskInstanceEntity entity = new TaskInstanceEntity();
+        entity.setUserId(userId);
+        entity.setTemplateId(null);
+        entity.setTitle(title.trim());
+        entity.setDescription(null);
+        entity.setPlanDate(planDate);
+        entity.setPlannedStartTime(null);
+        entity.setPlannedMinutes(completedMinutes);
+        entity.setCompletedMinutes(completedMinutes);
+        entity.setStatus(TaskStatus.COMPLETED);
+        entity.setAdHoc(true);
+        entity.setCreatedAt(now);
+        entity.setUpdatedAt(now);
+        return entity;
+    }
+
+    private TaskInstanceEntity manualTask(Long userId, CreateManualTaskRequest request, LocalDateTime now) {
+        TaskInstanceEntity entity = new TaskInstanceEntity();
+        entity.setUserId(userId);
+        entity.setTemplateId(null);
+        entity.setTitle(request.title());
+        entity.setDescription(request.description());
+        entity.setPlanDate(request.planDate());
+        entity.setPlannedStartTime(request.plannedStartTime());
+        entity.setPlannedMinutes(request.plannedMinutes());
+        entity.setCompletedMinutes(0);
+        entity.setStatus(TaskStatus.PENDING);
+        entity.setAdHoc(true);
+        entity.setCreatedAt(now);
+        entity.setUpdatedAt(now);
+        return entity;
+    }
+
+    private TaskInstanceEntity fromTemplate(TaskTemplateEntity template, LocalDate date, LocalDateTime now) {
+        TaskInstanceEntity entity = new TaskInstanceEntity();
+        entity.setUserId(template.getUserId());
+        entity.setTemplateId(template.getId());
+        entity.setTitle(template.getTitle());
+        entity.setDescription(template.getDescription());
+        entity.setPlanDate(date);
+        entity.setPlannedStartTime(template.getDefaultStartTime());
+        entity.setPlannedMinutes(template.getEstimatedMinutes());
+        entity.setCompletedMinutes(0);
+        entity.setStatus(TaskStatus.PENDING);
+        entity.setAdHoc(false);
+        entity.setCreatedAt(now);
+        entity.setUpdatedAt(now);
+        return entity;
+    }
+
     private TaskInstanceEntity requireOwnedTask(Long userId, Long taskId) {
+        if (VirtualTaskId.isVirtual(taskId)) {
+            return materialize(userId, taskId);
+        }
         TaskInstanceEntity task = taskInstanceMapper.selectOne(new LambdaQueryWrapper<TaskInstanceEntity>()
                 .eq(TaskInstanceEntity::getId, taskId)
                 .eq(TaskInstanceEntity::getUserId, userId));
@@ -186,6 +609,38 @@ public class TaskInstanceService {
         return task;
     }
 
+    private List<TaskInstanceEntity> requireOwnedTasks(Long userId, List<Long> taskIds) {
+        Set<Long> distinctIds = new LinkedHashSet<>(taskIds);
+        Map<Long, TaskInstanceEntity> tasksById = new HashMap<>();
+        List<Long> persistedIds = new ArrayList<>();
+        for (Long taskId : distinctIds) {
+            if (VirtualTaskId.isVirtual(taskId)) {
+                tasksById.put(taskId, materialize(userId, taskId));
+            } else {
+                persistedIds.add(taskId);
+            }
+        }
+        if (!persistedIds.isEmpty()) {
+            for (TaskInstanceEntity task : taskInstanceMapper.selectList(new LambdaQueryWrapper<TaskInstanceEntity>()
+                    .eq(TaskInstanceEntity::getUserId, userId)
+                    .in(TaskInstanceEntity::getId, persistedIds))) {
+                tasksById.put(task.getId(), task);
+            }
+        }
+        if (tasksById.size() != distinctIds.size()) {
+            throw new IllegalArgumentException("Task instance not found");
+        }
+        return distinctIds.stream().map(tasksById::get).toList();
+    }
+
+    private List<Long> ids(List<TaskInstanceEntity> tasks) {
+        return tasks.stream().map(TaskInstanceEntity::getId).toList();
+    }
+
+    private Set<LocalDate> planDates(List<TaskInstanceEntity> tasks) {
+        return tasks.stream().map(TaskInstanceEntity::getPlanDate).collect(Collectors.toSet());
+    }
+
     private TaskStatus resolveStatus(int completedMinutes, Integer plannedMinutesValue) {
         int plannedMinutes = plannedMinutesValue == null ? 0 : plannedMinutesValue;
         if (completedMinutes >= plannedMinutes) {
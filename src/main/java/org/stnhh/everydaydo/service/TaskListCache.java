@@ -0,0 +1,79 @@
+package org.stnhh.everydaydo.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.stnhh.everydaydo.config.TaskListCacheProperties;
+import org.stnhh.everydaydo.model.dto.task.TaskInstanceResponse;
+
+@Component
+public class TaskListCache {
+
+    private final Cache<Key, Entry> cache;
+    private final Counter staleHits;
+
+    public TaskListCache(TaskListCacheProperties properties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.expireAfterWrite())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "taskList");
+        // Entries written before another replica's change look like hits to Caffeine; count them separately.
+        this.staleHits = Counter.builder("cache.stale")
+                .tag("cache", "taskList")
+                .description("Cache hits discarded because the day version had moved on")
+                .register(meterRegistry);
+    }
+
+    public List<TaskInstanceResponse> get(Long userId, LocalDate date, String dayVersion, Supplier<List<TaskInstanceResponse>> loader) {
+        Key key = new Key(userId, date);
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null) {
+            if (entry.dayVersion().equals(dayVersion)) {
+                return entry.tasks();
+            }
+            staleHits.increment();
+        }
+
+        List<TaskInstanceResponse> tasks = loader.get();
+        cache.put(key, new Entry(dayVersion, tasks));
+        return tasks;
+    }
+
+    public void evictAfterCommit(Long userId, Collection<LocalDate> dates) {
+        afterCommit(() -> dates.forEach(date -> cache.invalidate(new Key(userId, date))));
+    }
+
+    public void evictAfterCommit(Collection<Long> userIds, LocalDate date) {
+        afterCommit(() -> userIds.forEach(userId -> cache.invalidate(new Key(userId, date))));
+    }
+
+    private void afterCommit(Runnable eviction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.run();
+            }
+        });
+    }
+
+    private record Key(Long userId, LocalDate date) {
+    }
+
+    private record Entry(String dayVersion, List<TaskInstanceResponse> tasks) {
+    }
+}
@@ -0,0 +1,32 @@
+package org.stnhh.everydaydo.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+record TaskRangeCursor(LocalDate planDate, long id) {
+
+    static TaskRangeCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf(':');
+            return new TaskRangeCursor(
+                    LocalDate.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((planDate + ":" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    boolean isBefore(LocalDate otherDate, long otherId) {
+        int byDate = planDate.compareTo(otherDate);
+        return byDate < 0 || (byDate == 0 && id < otherId);
+    }
+}
@@ -1,9 +1,12 @@
 package org.stnhh.everydaydo.service;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -34,6 +37,7 @@ public class TaskTemplateService {
         entity.setDayOfWeek(request.dayOfWeek());
         entity.setSpecificDate(request.specificDate());
         entity.setIntervalDays(request.intervalDays());
+        entity.setIntervalResidue(intervalResidue(request.intervalDays(), request.activeFrom()));
         entity.setDefaultStartTime(request.defaultStartTime());
         entity.setActiveFrom(request.activeFrom());
         entity.setActiveTo(request.activeTo());
@@ -65,6 +69,7 @@ public class TaskTemplateService {
         entity.setDayOfWeek(request.dayOfWeek());
         entity.setSpecificDate(request.specificDate());
         entity.setIntervalDays(request.intervalDays());
+        entity.setIntervalResidue(intervalResidue(request.intervalDays(), request.activeFrom()));
         entity.setDefaultStartTime(request.defaultStartTime());
         entity.setActiveFrom(request.activeFrom());
         entity.setActiveTo(request.activeTo());
@@ -96,11 +101,66 @@ public class TaskTemplateService {
                 .stream().map(this::toResponse).toList();
     }
 
-    public List<TaskTemplateEntity> findActiveTemplatesForDate(LocalDate date) {
+    public List<Long> findUserIdsWithActiveTemplates(LocalDate from, LocalDate to, UserShard shard, Long afterUserId, int limit) {
+        QueryWrapper<TaskTemplateEntity> wrapper = new QueryWrapper<TaskTemplateEntity>()
+                .select("DISTINCT user_id")
+                .eq("enabled", true)
+                .and(w -> w.isNull("active_from").or().le("active_from", to))
+                .and(w -> w.isNull("active_to").or().ge("active_to", from))
+                .gt("user_id", afterUserId);
+        if (shard != null) {
+            wrapper.apply("MOD(user_id, {0}) = {1}", shard.count(), shard.index());
+        }
+        wrapper.orderByAsc("user_id").last("LIMIT " + limit);
+
+        return taskTemplateMapper.selectObjs(wrapper).stream().map(value -> ((Number) value).longValue()).toList();
+    }
+
+    public List<TaskTemplateEntity> findCandidateTemplatesForDate(Collection<Long> userIds, LocalDate date, boolean holiday) {
+        // Served by idx_task_template_user_id; the recurrence arms are row filters over each user's templates.
+        // The INTERVAL_DAYS arm could not use an index anyway: its MOD depends on the bound date, not on a column.
         return taskTemplateMapper.selectList(new LambdaQueryWrapper<TaskTemplateEntity>()
+                .in(TaskTemplateEntity::getUserId, userIds)
                 .eq(TaskTemplateEntity::getEnabled, true)
                 .and(w -> w.isNull(TaskTemplateEntity::getActiveFrom).or().le(TaskTemplateEntity::getActiveFrom, date))
-                .and(w -> w.isNull(TaskTemplateEntity::getActiveTo).or().ge(TaskTemplateEntity::getActiveTo, date)));
+                .and(w -> w.isNull(TaskTemplateEntity::getActiveTo).or().ge(TaskTemplateEntity::getActiveTo, date))
+                .and(w -> w
+                        .in(TaskTemplateEntity::getRecurrenceType,
+                                RecurrenceType.DAILY, holiday ? RecurrenceType.HOLIDAY : RecurrenceType.WORKDAY)
+                        .or(x -> x.eq(TaskTemplateEntity::getRecurrenceType, RecurrenceType.WEEKLY)
+                                .eq(TaskTemplateEntity::getDayOfWeek, date.getDayOfWeek().getValue()))
+                        .or(x -> x.eq(TaskTemplateEntity::getRecurrenceType, RecurrenceType.SPECIFIC_DATE)
+                                .eq(TaskTemplateEntity::getSpecificDate, date))
+                        .or(x -> x.eq(TaskTemplateEntity::getRecurrenceType, RecurrenceType.INTERVAL_DAYS)
+                                .apply("MOD({0}, NULLIF(interval_days, 0)) = interval_residue", date.toEpochDay())))
+                .orderByAsc(TaskTemplateEntity::getId));
+    }
+
+    public List<TaskTemplateEntity> findActiveTemplates(Long userId, LocalDate from, LocalDate to) {
+        return taskTemplateMapper.selectList(new LambdaQueryWrapper<TaskTemplateEntity>()
+                .eq(TaskTemplateEntity::getUserId, userId)
+                .eq(TaskTemplateEntity::getEnabled, true)
+                .and(w -> w.isNull(TaskTemplateEntity::getActiveFrom).or().le(TaskTemplateEntity::getActiveFrom, to))
+                .and(w -> w.isNull(TaskTemplateEntity::getActiveTo).or().ge(TaskTemplateEntity::getActiveTo, from))
+                .orderByAsc(TaskTemplateEntity::getId));
+    }
+
+    public String fingerprint(Long userId) {
+        Map<String, Object> row = taskTemplateMapper.selectMaps(new QueryWrapper<TaskTemplateEntity>()
+                        .select(
+                                "COUNT(*) AS template_count",
+                                "COALESCE(SUM(id), 0) AS id_sum",
+                                "COALESCE(CAST(EXTRACT(EPOCH FROM MAX(updated_at)) * 1000000 AS BIGINT), 0) AS last_updated"
+                        )
+                        .eq("user_id", userId))
+                .get(0);
+        return row.get("template_count") + "." + row.get("id_sum") + "." + row.get("last_updated");
+    }
+
+    public TaskTemplateEntity findOwnedTemplate(Long userId, Long templateId) {
+        return taskTemplateMapper.selectOne(new LambdaQueryWrapper<TaskTemplateEntity>()
+                .eq(TaskTemplateEntity::getId, templateId)
+                .eq(TaskTemplateEntity::getUserId, userId));
     }
 
     private void validateRequest(CreateTemplateRequest request) {
@@ -141,10 +201,15 @@ public class TaskTemplateService {
         }
     }
 
+    private Integer intervalResidue(Integer intervalDays, LocalDate activeFrom) {
+        if (intervalDays == null || intervalDays <= 0 || activeFrom == null) {
+            return null;
+        }
+        return Math.floorMod(activeFrom.toEpochDay(), intervalDays);
+    }
+
     private TaskTemplateEntity requireOwnedTemplate(Long userId, Long templateId) {
-        TaskTemplateEntity entity = taskTemplateMapper.selectOne(new LambdaQueryWrapper<TaskTemplateEntity>()
-                .eq(TaskTemplateEntity::getId, templateId)
-                .eq(TaskTemplateEntity::getUserId, userId));
+        TaskTemplateEntity entity = findOwnedTemplate(userId, templateId);
         if (entity == null) {
             throw new IllegalArgumentException("Template not found");
         }
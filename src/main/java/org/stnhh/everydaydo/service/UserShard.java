@@ -0,0 +1,4 @@
+package org.stnhh.everydaydo.service;
+
+public record UserShard(int index, int count) {
+}
@@ -0,0 +1,33 @@
+package org.stnhh.everydaydo.service;
+
+import java.time.LocalDate;
+
+final class VirtualTaskId {
+
+    private static final int DATE_BITS = 20;
+    private static final long DATE_MASK = (1L << DATE_BITS) - 1;
+
+    private VirtualTaskId() {
+    }
+
+    static boolean supports(LocalDate date) {
+        long epochDay = date.toEpochDay();
+        return epochDay >= 0 && epochDay <= DATE_MASK;
+    }
+
+    static long encode(Long templateId, LocalDate date) {
+        return -((templateId << DATE_BITS) | date.toEpochDay());
+    }
+
+    static boolean isVirtual(Long taskId) {
+        return taskId != null && taskId < 0;
+    }
+
+    static Long templateId(Long taskId) {
+        return -taskId >>> DATE_BITS;
+    }
+
+    static LocalDate planDate(Long taskId) {
+        return LocalDate.ofEpochDay(-taskId & DATE_MASK);
+    }
+}
@@ -0,0 +1,7 @@
+ALTER TABLE task_instance
+    ADD COLUMN IF NOT EXISTS planned_start_at TIMESTAMP
+        GENERATED ALWAYS AS (plan_date + planned_start_time) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_task_instance_user_planned_start
+    ON task_instance(user_id, planned_start_at)
+    WHERE planned_start_at IS NOT NULL;
@@ -0,0 +1,11 @@
+CREATE TABLE IF NOT EXISTS idempotency_record (
+    user_id BIGINT NOT NULL REFERENCES app_user(id),
+    idempotency_key VARCHAR(128) NOT NULL,
+    request_hash CHAR(64) NOT NULL,
+    response_body TEXT,
+    created_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (user_id, idempotency_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_record_expires ON idempotency_record(expires_at);
@@ -0,0 +1,25 @@
+CREATE TABLE IF NOT EXISTS user_daily_stats (
+    user_id BIGINT NOT NULL REFERENCES app_user(id),
+    plan_date DATE NOT NULL,
+    total_tasks INTEGER NOT NULL DEFAULT 0,
+    completed_tasks INTEGER NOT NULL DEFAULT 0,
+    ad_hoc_tasks INTEGER NOT NULL DEFAULT 0,
+    planned_minutes INTEGER NOT NULL DEFAULT 0,
+    completed_minutes INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (user_id, plan_date)
+);
+
+INSERT INTO user_daily_stats (user_id, plan_date, total_tasks, completed_tasks, ad_hoc_tasks,
+    planned_minutes, completed_minutes, updated_at)
+SELECT user_id,
+       plan_date,
+       COUNT(*),
+       COUNT(*) FILTER (WHERE status = 'COMPLETED'),
+       COUNT(*) FILTER (WHERE ad_hoc),
+       COALESCE(SUM(planned_minutes), 0),
+       COALESCE(SUM(completed_minutes), 0),
+       NOW()
+FROM task_instance
+GROUP BY user_id, plan_date
+ON CONFLICT (user_id, plan_date) DO NOTHING;
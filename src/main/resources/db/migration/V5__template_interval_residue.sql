@@ -0,0 +1,8 @@
+ALTER TABLE task_template
+    ADD COLUMN IF NOT EXISTS interval_residue INTEGER;
+
+UPDATE task_template
+SET interval_residue = MOD(MOD(active_from - DATE '1970-01-01', interval_days) + interval_days, interval_days)
+WHERE recurrence_type = 'INTERVAL_DAYS'
+  AND interval_days > 0
+  AND active_from IS NOT NULL;
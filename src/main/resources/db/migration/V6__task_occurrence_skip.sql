@@ -0,0 +1,7 @@
+CREATE TABLE IF NOT EXISTS task_occurrence_skip (
+    user_id BIGINT NOT NULL REFERENCES app_user(id),
+    template_id BIGINT NOT NULL REFERENCES task_template(id) ON DELETE CASCADE,
+    plan_date DATE NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (user_id, template_id, plan_date)
+);
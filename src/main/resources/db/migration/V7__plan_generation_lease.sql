@@ -0,0 +1,15 @@
+CREATE TABLE IF NOT EXISTS plan_generation_lease (
+    plan_date DATE NOT NULL,
+    shard INTEGER NOT NULL,
+    owner VARCHAR(128) NOT NULL,
+    lease_until TIMESTAMP NOT NULL,
+    claimed_at TIMESTAMP NOT NULL,
+    completed_at TIMESTAMP,
+    generated INTEGER,
+    skipped INTEGER,
+    PRIMARY KEY (plan_date, shard)
+);
+
+CREATE INDEX IF NOT EXISTS idx_plan_generation_lease_open
+    ON plan_generation_lease(plan_date, lease_until)
+    WHERE completed_at IS NULL;
@@ -0,0 +1,37 @@
+CREATE TABLE IF NOT EXISTS plan_generation_job (
+    id BIGSERIAL PRIMARY KEY,
+    plan_from DATE NOT NULL,
+    plan_to DATE NOT NULL,
+    shard_index INTEGER,
+    shard_count INTEGER,
+    status VARCHAR(20) NOT NULL,
+    cursor_user_id BIGINT NOT NULL DEFAULT 0,
+    users INTEGER NOT NULL DEFAULT 0,
+    generated INTEGER NOT NULL DEFAULT 0,
+    skipped INTEGER NOT NULL DEFAULT 0,
+    failed_chunks INTEGER NOT NULL DEFAULT 0,
+    last_error TEXT,
+    heartbeat_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    finished_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_plan_generation_job_running
+    ON plan_generation_job(heartbeat_at)
+    WHERE status = 'RUNNING';
+
+CREATE TABLE IF NOT EXISTS plan_generation_job_chunk (
+    id BIGSERIAL PRIMARY KEY,
+    job_id BIGINT NOT NULL REFERENCES plan_generation_job(id) ON DELETE CASCADE,
+    first_user_id BIGINT NOT NULL,
+    last_user_id BIGINT NOT NULL,
+    users INTEGER NOT NULL,
+    generated INTEGER NOT NULL,
+    skipped INTEGER NOT NULL,
+    elapsed_millis BIGINT NOT NULL,
+    error TEXT,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_plan_generation_job_chunk_job
+    ON plan_generation_job_chunk(job_id, id);
@@ -0,0 +1,7 @@
+CREATE TABLE IF NOT EXISTS user_day_version (
+    user_id BIGINT NOT NULL REFERENCES app_user(id),
+    plan_date DATE NOT NULL,
+    tasks_version BIGINT NOT NULL DEFAULT 0,
+    checkins_version BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, plan_date)
+);
@@ -0,0 +1,66 @@
+package org.stnhh.everydaydo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.stnhh.everydaydo.EmbeddedPostgresTest;
+import org.stnhh.everydaydo.model.dto.plan.PlanRangeGenerationResponse;
+
+// Opt-in: mvn -B test -Dtest=PlanGenerationBenchmarkTest -Dbenchmark=true
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PlanGenerationBenchmarkTest extends EmbeddedPostgresTest {
+
+    private static final int USERS = 25_000;
+    private static final int DAILY_TEMPLATES_PER_USER = 4;
+
+    @Autowired
+    private PlanGenerationService planGenerationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void generatesOneDayForOverHundredThousandTemplates() {
+        // Far enough ahead that the startup backfill and lease sweep never touch it.
+        LocalDate date = LocalDate.now().plusDays(60);
+        int otherWeekday = date.getDayOfWeek().plus(1).getValue();
+        seed(otherWeekday);
+        int expected = USERS * DAILY_TEMPLATES_PER_USER;
+
+        PlanRangeGenerationResponse cold = planGenerationService.generateForRange(date, date);
+        PlanRangeGenerationResponse rerun = planGenerationService.generateForRange(date, date);
+        log.info("Plan generation benchmark: {} templates, {} users; cold {} generated in {} ms ({} /s); "
+                        + "re-run {} skipped in {} ms",
+                USERS * (DAILY_TEMPLATES_PER_USER + 1), cold.users(), cold.generated(), cold.elapsedMillis(),
+                cold.instancesPerSecond(), rerun.skipped(), rerun.elapsedMillis());
+
+        assertThat(cold.failedChunks()).isZero();
+        assertThat(cold.generated()).isEqualTo(expected);
+        assertThat(rerun.generated()).isZero();
+        assertThat(rerun.skipped()).isEqualTo(expected);
+    }
+
+    // Each user gets four daily templates and one weekly template that does not match the generated day.
+    private void seed(int otherWeekday) {
+        jdbcTemplate.update("""
+                INSERT INTO app_user (username, email, password_hash, created_at, updated_at)
+                SELECT 'bench-' || n, 'bench-' || n || '@example.com', 'unused', now(), now()
+                FROM generate_series(1, ?) AS n
+                """, USERS);
+        jdbcTemplate.update("""
+                INSERT INTO task_template (user_id, title, estimated_minutes, priority, recurrence_type,
+                    day_of_week, enabled, created_at, updated_at)
+                SELECT u.id, 'bench ' || t, 30, 3, CASE WHEN t <= ? THEN 'DAILY' ELSE 'WEEKLY' END,
+                    CASE WHEN t <= ? THEN NULL ELSE ? END, TRUE, now(), now()
+                FROM app_user u CROSS JOIN generate_series(1, ?) AS t
+                WHERE u.username LIKE 'bench-%'
+                """, DAILY_TEMPLATES_PER_USER, DAILY_TEMPLATES_PER_USER, otherWeekday, DAILY_TEMPLATES_PER_USER + 1);
+        jdbcTemplate.execute("ANALYZE");
+    }
+}
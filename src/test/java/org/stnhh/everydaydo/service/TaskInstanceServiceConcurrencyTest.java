@@ -0,0 +1,84 @@
+package org.stnhh.everydaydo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.stnhh.everydaydo.EmbeddedPostgresTest;
+import org.stnhh.everydaydo.mapper.TaskInstanceMapper;
+import org.stnhh.everydaydo.mapper.UserMapper;
+import org.stnhh.everydaydo.model.dto.task.CreateManualTaskRequest;
+import org.stnhh.everydaydo.model.dto.task.TaskInstanceResponse;
+import org.stnhh.everydaydo.model.entity.TaskInstanceEntity;
+import org.stnhh.everydaydo.model.entity.UserEntity;
+import org.stnhh.everydaydo.model.enums.TaskStatus;
+
+class TaskInstanceServiceConcurrencyTest extends EmbeddedPostgresTest {
+
+    private static final int THREADS = 8;
+    private static final int ADJUSTMENTS_PER_THREAD = 10;
+    private static final int MINUTES_PER_ADJUSTMENT = 5;
+
+    @Autowired
+    private TaskInstanceService taskInstanceService;
+
+    @Autowired
+    private TaskInstanceMapper taskInstanceMapper;
+
+    @Autowired
+    private UserMapper userMapper;
+
+    @Test
+    void concurrentCompletionMinutesAreNotLost() throws Exception {
+        int totalMinutes = THREADS * ADJUSTMENTS_PER_THREAD * MINUTES_PER_ADJUSTMENT;
+        Long userId = createUser();
+        TaskInstanceResponse task = taskInstanceService.createManual(userId, new CreateManualTaskRequest(
+                "Concurrent check-ins", null, LocalDate.now(), null, totalMinutes));
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < ADJUSTMENTS_PER_THREAD; j++) {
+                        taskInstanceService.addCompletionMinutes(userId, task.id(), MINUTES_PER_ADJUSTMENT);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Any lost increment leaves the task short of its planned minutes and therefore IN_PROGRESS.
+        TaskInstanceEntity stored = taskInstanceMapper.selectById(task.id());
+        assertThat(stored.getCompletedMinutes()).isEqualTo(totalMinutes);
+        assertThat(stored.getStatus()).isEqualTo(TaskStatus.COMPLETED);
+    }
+
+    private Long createUser() {
+        LocalDateTime now = LocalDateTime.now();
+        UserEntity user = new UserEntity();
+        user.setUsername("concurrency-" + System.nanoTime());
+        user.setEmail(user.getUsername() + "@example.com");
+        user.setPasswordHash("unused");
+        user.setCreatedAt(now);
+        user.setUpdatedAt(now);
+        userMapper.insert(user);
+        return user.getId();
+    }
+}